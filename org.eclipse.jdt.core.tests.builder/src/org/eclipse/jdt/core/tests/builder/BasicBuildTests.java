@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.builder;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Hashtable;
 
 import junit.framework.*;
@@ -26,6 +29,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.builder.BuildTrace;
 
 /**
  * Basic tests of the image builder.
@@ -634,4 +638,90 @@ public class BasicBuildTests extends BuilderTests {
 				"Problem : The type java.lang.Object cannot be resolved. It is indirectly referenced from required .class files [ resource : </Project/src/X.java> range : <0,1> category : <10> severity : <2>]"
 			);
 	}
+	public void testBulkOutputWriting() throws JavaModelException {
+		boolean previous = org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.BULK_OUTPUT_WRITING;
+		try {
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.BULK_OUTPUT_WRITING = true;
+			IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+			env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+			// remove old package fragment root so that names don't collide
+			env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+			IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+			IPath bin = env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+			env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class A {\n"+ //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+			env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p2;\n"+ //$NON-NLS-1$
+				"public class B extends p1.A {\n"+ //$NON-NLS-1$
+				"	int foo() { return i; }\n"+ //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+			fullBuild(projectPath);
+			expectingOnlyProblemsFor(root.append("p2/B.java")); //$NON-NLS-1$
+
+			// B is recompiled in a second compile loop against the new A.class
+			env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class A {\n"+ //$NON-NLS-1$
+				"	protected int i;\n"+ //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+			incrementalBuild(projectPath);
+			expectingCompiledClasses(new String[] {"p1.A", "p2.B"}); //$NON-NLS-1$ //$NON-NLS-2$
+			expectingNoProblems();
+
+			IPath[] classFiles = new IPath[] {bin.append("p1/A.class"), bin.append("p2/B.class")}; //$NON-NLS-1$ //$NON-NLS-2$
+			expectingPresenceOf(classFiles);
+			for (int i = 0; i < classFiles.length; i++) {
+				org.eclipse.core.resources.IFile file = env.getWorkspace().getRoot().getFile(classFiles[i]);
+				assertTrue("Should be derived: " + file, file.isDerived()); //$NON-NLS-1$
+				assertTrue("Should be in sync: " + file, file.isSynchronized(org.eclipse.core.resources.IResource.DEPTH_ZERO)); //$NON-NLS-1$
+			}
+		} finally {
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.BULK_OUTPUT_WRITING = previous;
+		}
+	}
+	public void testBuildTrace() throws Exception {
+		String previous = BuildTrace.TRACE_FILE;
+		File traceFile = File.createTempFile("buildTrace", ".json"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			BuildTrace.TRACE_FILE = traceFile.getPath();
+			IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+			env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+			// remove old package fragment root so that names don't collide
+			env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+			IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+			env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+			env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class A {}\n" //$NON-NLS-1$
+				);
+			fullBuild(projectPath);
+			env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class A { int i; }\n" //$NON-NLS-1$
+				);
+			incrementalBuild(projectPath);
+
+			String trace = new String(Files.readAllBytes(traceFile.toPath()), StandardCharsets.UTF_8);
+			assertTrue("Should be a JSON array: " + trace, trace.startsWith("[{")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("Missing full build: " + trace, trace.indexOf("\"name\":\"full build\"") != -1); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("Missing incremental build: " + trace, trace.indexOf("\"name\":\"incremental build\"") != -1); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("Missing compile loop: " + trace, trace.indexOf("\"name\":\"compile loop\"") != -1); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("Missing build: " + trace, trace.indexOf("\"name\":\"build\",\"cat\":\"jdt.builder\"") != -1); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("Missing project: " + trace, trace.indexOf("\"project\":\"Project\"") != -1); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			BuildTrace.TRACE_FILE = previous;
+			traceFile.delete();
+		}
+	}
 }
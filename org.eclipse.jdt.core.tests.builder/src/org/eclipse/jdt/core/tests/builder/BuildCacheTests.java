@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.builder;
+
+import java.util.Arrays;
+
+import junit.framework.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.builder.BuildCache;
+
+/**
+ * Tests restoring the outputs of a build from the build cache.
+ */
+public class BuildCacheTests extends BuilderTests {
+
+	private boolean wasEnabled;
+	private int minChangedSourceFiles;
+	private int minChangedClassFiles;
+
+	public BuildCacheTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildTestSuite(BuildCacheTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.wasEnabled = BuildCache.ENABLED;
+		this.minChangedSourceFiles = BuildCache.MinChangedSourceFiles;
+		this.minChangedClassFiles = BuildCache.MinChangedClassFiles;
+		BuildCache.ENABLED = true;
+		BuildCache.MinChangedSourceFiles = 0;
+		BuildCache.MinChangedClassFiles = 0;
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		BuildCache.ENABLED = this.wasEnabled;
+		BuildCache.MinChangedSourceFiles = this.minChangedSourceFiles;
+		BuildCache.MinChangedClassFiles = this.minChangedClassFiles;
+		super.tearDown();
+	}
+
+	public void testRestoreAfterRevert() throws JavaModelException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		IPath bin = env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		String a1 =
+			"package p1;\n" + //$NON-NLS-1$
+			"public class A {\n" + //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"}\n"; //$NON-NLS-1$
+		env.addClass(root, "p1", "A", a1); //$NON-NLS-1$ //$NON-NLS-2$
+		IPath bPath = env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n" + //$NON-NLS-1$
+			"public class B {\n" + //$NON-NLS-1$
+			"	void bar(p1.A a) { a.foo(); a.zork(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		String problems = Arrays.toString(env.getProblemsFor(bPath));
+
+		env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n" + //$NON-NLS-1$
+			"public class A {\n" + //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public void zork() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.A", "p2.B"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+
+		// back to the first version: outputs and problems come from the cache
+		env.addClass(root, "p1", "A", a1); //$NON-NLS-1$ //$NON-NLS-2$
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[0]);
+		assertEquals("Unexpected problems", problems, Arrays.toString(env.getProblemsFor(bPath))); //$NON-NLS-1$
+		expectingPresenceOf(new IPath[] {bin.append("p1/A.class"), bin.append("p2/B.class")}); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// the restored state is usable by the following incremental builds
+		env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n" + //$NON-NLS-1$
+			"public class B {\n" + //$NON-NLS-1$
+			"	void bar(p1.A a) { a.foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p2.B"}); //$NON-NLS-1$
+		expectingNoProblems();
+		env.removeProject(projectPath);
+	}
+
+	public void testAccessRulesInKey() throws JavaModelException {
+		IPath project1Path = env.addProject("P1"); //$NON-NLS-1$
+		env.addExternalJars(project1Path, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(project1Path, ""); //$NON-NLS-1$
+		IPath root1 = env.addPackageFragmentRoot(project1Path, "src"); //$NON-NLS-1$
+		env.setOutputFolder(project1Path, "bin"); //$NON-NLS-1$
+		env.addClass(root1, "p1.internal", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1.internal;\n" + //$NON-NLS-1$
+			"public class A {}\n" //$NON-NLS-1$
+			);
+
+		IPath project2Path = env.addProject("P2"); //$NON-NLS-1$
+		env.addExternalJars(project2Path, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(project2Path, ""); //$NON-NLS-1$
+		IPath root2 = env.addPackageFragmentRoot(project2Path, "src"); //$NON-NLS-1$
+		env.setOutputFolder(project2Path, "bin"); //$NON-NLS-1$
+		env.addRequiredProject(project2Path, project1Path);
+		IPath bPath = env.addClass(root2, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n" + //$NON-NLS-1$
+			"public class B extends p1.internal.A {}\n" //$NON-NLS-1$
+			);
+
+		fullBuild();
+		expectingNoProblems();
+
+		// same sources with a forbidden reference: the snapshot of the first build must not be used
+		env.removeRequiredProject(project2Path, project1Path);
+		env.addRequiredProject(project2Path, project1Path, new IPath[] {}, new IPath[] {new Path("**/internal/")}, false); //$NON-NLS-1$
+		fullBuild(project2Path);
+		expectingCompiledClasses(new String[]{"p2.B"}); //$NON-NLS-1$
+		expectingSpecificProblemFor(project2Path, new Problem("", "Access restriction: The type 'A' is not API (restriction on required project 'P1')", bPath, 35, 48, CategorizedProblem.CAT_RESTRICTION, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// back to the first classpath
+		env.removeRequiredProject(project2Path, project1Path);
+		env.addRequiredProject(project2Path, project1Path);
+		fullBuild(project2Path);
+		expectingCompiledClasses(new String[0]);
+		expectingNoProblems();
+		env.removeProject(project2Path);
+		env.removeProject(project1Path);
+	}
+
+	public void testCharsetInKey() throws CoreException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+		IPath aPath = env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n" + //$NON-NLS-1$
+			"public class A {}\n" //$NON-NLS-1$
+			);
+		IFile a = env.getWorkspace().getRoot().getFile(aPath);
+		a.setCharset("UTF-8", null); //$NON-NLS-1$
+
+		fullBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.A"}); //$NON-NLS-1$
+
+		// same contents read with another charset: the snapshot of the first build must not be used
+		a.setCharset("ISO-8859-1", null); //$NON-NLS-1$
+		fullBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.A"}); //$NON-NLS-1$
+
+		// back to the first charset
+		a.setCharset("UTF-8", null); //$NON-NLS-1$
+		fullBuild(projectPath);
+		expectingCompiledClasses(new String[0]);
+		env.removeProject(projectPath);
+	}
+
+	public void testDisabledWithClassFolder() throws JavaModelException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+		env.addClassFolder(projectPath, env.addFolder(projectPath, "lib"), false); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n" + //$NON-NLS-1$
+			"public class A {}\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.A"}); //$NON-NLS-1$
+
+		// the contents of class folders are not part of the key, so the cache must not be used
+		fullBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.A"}); //$NON-NLS-1$
+		env.removeProject(projectPath);
+	}
+}
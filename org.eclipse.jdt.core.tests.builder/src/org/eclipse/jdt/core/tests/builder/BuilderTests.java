@@ -532,6 +532,7 @@ public class BuilderTests extends TestCase {
 			FriendDependencyTests.class,
 			TestAttributeBuilderTests.class,
 			Bug530366Test.class,
+			BuildCacheTests.class,
 		};
 
 		if ((AbstractCompilerTest.getPossibleComplianceLevels()  & AbstractCompilerTest.F_1_5) != 0) {
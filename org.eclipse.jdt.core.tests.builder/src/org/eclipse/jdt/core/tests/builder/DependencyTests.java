@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.builder;
 
+import java.lang.reflect.Field;
+
 import junit.framework.Test;
 
 import org.eclipse.core.resources.IMarker;
@@ -19,6 +21,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.builder.ReferenceCollection;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class DependencyTests extends BuilderTests {
@@ -30,6 +33,30 @@ public class DependencyTests extends BuilderTests {
 		return buildTestSuite(DependencyTests.class);
 	}
 
+	/*
+	 * Ensures that the names added by the same call to addDependencies(...) are only recorded once,
+	 * even when they share a prefix (e.g. 'p' from both 'p.X' and 'p.Y').
+	 */
+	public void testAddDependenciesWithSharedPrefix() throws Exception {
+		ReferenceCollection references = new ReferenceCollection(new char[0][][], new char[0][], new char[0][]) {
+			// the constructor is protected
+		};
+		references.addDependencies(new String[] {"p.q.X", "p.q.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+
+		String[] fieldNames = new String[] {"qualifiedNameReferences", "simpleNameReferences", "rootReferences"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		int[] expectedLengths = new int[] {4 /* p, p.q, p.q.X, p.q.Y */, 4 /* p, q, X, Y */, 1 /* p */};
+		for (int i = 0; i < fieldNames.length; i++) {
+			Field field = ReferenceCollection.class.getDeclaredField(fieldNames[i]);
+			field.setAccessible(true);
+			Object[] names = (Object[]) field.get(references);
+			for (int j = 0; j < names.length; j++)
+				for (int k = j + 1; k < names.length; k++)
+					assertNotSame("Duplicate in " + fieldNames[i], names[j], names[k]); //$NON-NLS-1$
+			assertEquals("Unexpected number of " + fieldNames[i], expectedLengths[i], names.length); //$NON-NLS-1$
+		}
+		assertTrue("Should include p.q", references.includes(ReferenceCollection.internQualifiedNames(new char[][][] {{{'p'}, {'q'}}}, false)[0])); //$NON-NLS-1$
+	}
+
 	public void testAbstractMethod() throws JavaModelException {
 		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
 		env.addExternalJars(projectPath, Util.getJavaClassLibs());
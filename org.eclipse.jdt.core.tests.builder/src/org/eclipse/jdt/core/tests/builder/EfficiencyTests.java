@@ -149,6 +149,206 @@ public class EfficiencyTests extends BuilderTests {
 		expectingCompilingOrder(new String[] { "/Project/src/p1/X.java", "/Project/src/p2/Y.java" });
 	}
 
+	public void testPrivateMethodAddition() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	private int i;	\n" + //$NON-NLS-1$
+			"	void foo() {	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"import p1.*;\n"+ //$NON-NLS-1$
+			"public class Y extends X{\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	private int i;	\n" + //$NON-NLS-1$
+			"	private void bar(){}	\n" + //$NON-NLS-1$
+			"	void foo() {	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// private methods cannot be seen by dependents
+		expectingCompiledClasses(new String[]{"p1.X"}); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	private long i;	\n" + //$NON-NLS-1$
+			"	void bar(){}	\n" + //$NON-NLS-1$
+			"	void foo() {	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testPredictedDependents() throws JavaModelException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void foo(p1.X x) { x.bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		fullBuild(projectPath);
+		expectingOnlyProblemsFor(root.append("p2/Y.java")); //$NON-NLS-1$
+
+		// structural change, Y is found in a second compile loop
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingOnlyProblemsFor(root.append("p2/Y.java")); //$NON-NLS-1$
+
+		// X changed structurally last time so Y is compiled with it and its result is kept
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+
+		// the prediction is wrong, the result of Y is dropped
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() { foo(); }\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+
+		// X did not change structurally last time, nothing is predicted
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[]{"p1.X"}); //$NON-NLS-1$
+		expectingNoProblems();
+	}
+
+	// a private field hides the field of the same name inherited from a supertype (JLS 8.3)
+	public void testPrivateFieldHiding() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class Z {\n"+ //$NON-NLS-1$
+			"	public int f;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X extends Z {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath pathToY = env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y extends p1.X {\n"+ //$NON-NLS-1$
+			"	int foo() {\n" + //$NON-NLS-1$
+			"		return f;\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X extends Z {\n"+ //$NON-NLS-1$
+			"	private int f;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// the private field hides Z.f from Y
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingOnlyProblemsFor(pathToY);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X extends Z {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+	}
+
 	public void testLocalTypeAddition() throws JavaModelException {
 
 		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
@@ -1282,4 +1282,42 @@ public class IncrementalTests extends BuilderTests {
 		env.removeProject(projectPath);
 	}
 
+	// the listings of class folders are cached across builds and must see the class files written by other builders
+	public void testClassFolderListingUpdatedAcrossBuilds() throws JavaModelException {
+		IPath projectPath1 = env.addProject("Project1"); //$NON-NLS-1$
+		env.addExternalJars(projectPath1, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(projectPath1, ""); //$NON-NLS-1$
+		IPath root1 = env.addPackageFragmentRoot(projectPath1, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath1, "bin"); //$NON-NLS-1$
+
+		IPath projectPath2 = env.addProject("Project2"); //$NON-NLS-1$
+		env.addExternalJars(projectPath2, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(projectPath2, ""); //$NON-NLS-1$
+		IPath root2 = env.addPackageFragmentRoot(projectPath2, "src"); //$NON-NLS-1$
+		IPath output2 = env.setOutputFolder(projectPath2, "bin"); //$NON-NLS-1$
+
+		env.addClassFolder(projectPath1, output2, false);
+		env.addRequiredProject(projectPath2, projectPath1);
+
+		IPath pathToR = env.addClass(root1, "pR", "R", //$NON-NLS-1$ //$NON-NLS-2$
+			"package pR;\n" + //$NON-NLS-1$
+			"public class R {\n" + //$NON-NLS-1$
+			"	pD.D d;\n" + //$NON-NLS-1$
+			"}\n"); //$NON-NLS-1$
+		env.addClass(root2, "pD", "Other", //$NON-NLS-1$ //$NON-NLS-2$
+			"package pD;\n" + //$NON-NLS-1$
+			"public class Other {}\n"); //$NON-NLS-1$
+
+		fullBuild();
+		expectingOnlySpecificProblemFor(pathToR, new Problem("R", "pD cannot be resolved to a type", pathToR, 30, 32, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		env.addClass(root2, "pD", "D", //$NON-NLS-1$ //$NON-NLS-2$
+			"package pD;\n" + //$NON-NLS-1$
+			"public class D {}\n"); //$NON-NLS-1$
+		incrementalBuild();
+		incrementalBuild(); // Project1 sees the new class file in its class folder
+		expectingNoProblems();
+		env.removeProject(projectPath1);
+		env.removeProject(projectPath2);
+	}
 }
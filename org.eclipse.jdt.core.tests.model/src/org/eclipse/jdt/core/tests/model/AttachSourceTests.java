@@ -57,6 +57,7 @@ import org.eclipse.jdt.internal.core.ExternalFoldersManager;
 import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.SourceAttachmentIndex;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
@@ -1326,6 +1327,29 @@ public void testRootPath4() throws JavaModelException {
 		cf.getSource());
 	root.close();
 }
+/**
+ * Ensures that the root paths found in a source attachment are remembered across sessions.
+ */
+public void testRootPath4b() throws JavaModelException {
+	IJavaProject project = getJavaProject("/AttachSourceTests");
+	IPackageFragmentRoot root = project.getPackageFragmentRoot(getFile("/AttachSourceTests/test.jar"));
+	attachSource(root, "/AttachSourceTests/src.zip", "invalid");
+	IOrdinaryClassFile cf = root.getPackageFragment("test1").getOrdinaryClassFile("Test.class");
+	assertNotNull("Should have source", cf.getSource());
+	root.close();
+
+	// simulate a restart: the root paths are read from disk
+	SourceAttachmentIndex.reset();
+	int hitCount = SourceAttachmentIndex.getHitCount();
+	assertSourceEquals(
+		"Unexpected source for class file",
+		"package test1;\n" +
+		"\n" +
+		"public class Test {}",
+		cf.getSource());
+	assertEquals("Should have used the indexed root paths", hitCount + 1, SourceAttachmentIndex.getHitCount());
+	root.close();
+}
 /**
  * Attach a jar with a source attachment that doesn't contain the source folders
  */
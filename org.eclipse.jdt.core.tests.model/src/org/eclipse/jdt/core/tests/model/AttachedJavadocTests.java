@@ -44,6 +44,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.core.BinaryType;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavadocCache;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerProjectInfo;
 import org.eclipse.jdt.internal.core.util.Util;
 
@@ -1351,5 +1352,39 @@ public class AttachedJavadocTests extends ModifyingResourceTests {
 			assertTrue("Should not happen", false);
 		}
 	}
-}
+	// the pages read from a javadoc archive are kept on disk and shared by all projects
+	public void testJavadocCache() throws JavaModelException {
+		IClasspathEntry[] savedEntries = null;
+		try {
+			IClasspathEntry[] entries = this.project.getRawClasspath();
+			savedEntries = entries.clone();
+			final String path = "jar:" + "platform:/resource/AttachedJavadocProject/doc.zip" + "!/doc";
+			IClasspathAttribute attribute = JavaCore.newClasspathAttribute(IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME, path);
+			for (int i = 0, max = entries.length; i < max; i++) {
+				final IClasspathEntry entry = entries[i];
+				if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY
+						&& entry.getContentKind() == IPackageFragmentRoot.K_BINARY
+						&& "/AttachedJavadocProject/lib/test6.jar".equals(entry.getPath().toString())) { //$NON-NLS-1$
+					entries[i] = JavaCore.newLibraryEntry(entry.getPath(), entry.getSourceAttachmentPath(), entry.getSourceAttachmentRootPath(), entry.getAccessRules(), new IClasspathAttribute[] { attribute }, entry.isExported());
+				}
+			}
+			this.project.setRawClasspath(entries, null);
+			IType type = this.root.getPackageFragment("p1.p2").getOrdinaryClassFile("X.class").getType(); //$NON-NLS-1$ //$NON-NLS-2$
+			String javadoc = type.getAttachedJavadoc(new NullProgressMonitor());
+			assertNotNull("Should have a javadoc", javadoc); //$NON-NLS-1$
 
+			// forget everything but the pages on disk
+			PerProjectInfo projectInfo = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(this.project.getProject());
+			projectInfo.javadocCache.flush();
+			JavadocCache.flush();
+			int hitCount = JavadocCache.getHitCount();
+			assertEquals("Unexpected javadoc", javadoc, type.getAttachedJavadoc(new NullProgressMonitor())); //$NON-NLS-1$
+			assertEquals("Should have read the page from the cache", hitCount + 1, JavadocCache.getHitCount()); //$NON-NLS-1$
+		} finally {
+			// restore classpath
+			if (savedEntries != null) {
+				this.project.setRawClasspath(savedEntries, null);
+			}
+		}
+	}
+}
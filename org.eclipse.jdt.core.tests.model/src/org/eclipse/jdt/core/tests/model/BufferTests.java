@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.model;
 
+import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 
 import org.eclipse.core.resources.IFile;
@@ -18,6 +19,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.jdt.core.*;
+import org.eclipse.jdt.internal.core.Buffer;
 
 import junit.framework.Test;
 
@@ -42,6 +44,15 @@ protected IBuffer createBuffer(String path, String content) throws CoreException
 	this.events = new ArrayList();
 	return buffer;
 }
+protected IBuffer createUTF8Buffer(String path, String content) throws CoreException, UnsupportedEncodingException {
+	waitUntilIndexesReady(); // ensure that the indexer is not reading the file
+	IFile file = this.createFile(path, content, "UTF-8");
+	file.setCharset("UTF-8", null);
+	IBuffer buffer = this.getCompilationUnit(path).getBuffer();
+	buffer.addBufferChangedListener(this);
+	this.events = new ArrayList();
+	return buffer;
+}
 protected void deleteBuffer(IBuffer buffer) throws CoreException {
 	buffer.removeBufferChangedListener(this);
 	IResource resource = buffer.getUnderlyingResource();
@@ -144,6 +155,59 @@ public void testClose() throws CoreException {
 		deleteBuffer(buffer);
 	}
 }
+/**
+ * Ensures that a buffer whose contents are all ISO-8859-1 stores them one byte per character
+ * until it is modified.
+ */
+public void testCompactContents() throws CoreException, UnsupportedEncodingException {
+	IBuffer buffer = createUTF8Buffer(
+		"P/x/y/A.java",
+		"package x.y;\n" +
+		"public class A { String s = \"\u00e9t\u00e9\"; }"
+	);
+	try {
+		assertTrue("should be compact", ((Buffer) buffer).isCompact());
+		assertEquals("unexpected contents size", buffer.getLength(), ((Buffer) buffer).getContentsSize());
+		assertEquals("unexpected char", '\u00e9', buffer.getChar(42));
+		assertEquals("unexpected text", "\"\u00e9t\u00e9\"", buffer.getText(41, 5));
+		char[] characters = buffer.getCharacters();
+		assertSame("should inflate the contents once", characters, buffer.getCharacters());
+		assertTrue("should still be compact", ((Buffer) buffer).isCompact());
+		assertSourceEquals(
+			"unexpected buffer contents",
+			"package x.y;\n" +
+			"public class A { String s = \"\u00e9t\u00e9\"; }",
+			buffer.getContents()
+		);
+		buffer.replace(42, 3, "\u20ac");
+		assertBufferEvent(42, 3, "\u20ac");
+		assertTrue("should not be compact", !((Buffer) buffer).isCompact());
+		assertSourceEquals(
+			"unexpected buffer contents",
+			"package x.y;\n" +
+			"public class A { String s = \"\u20ac\"; }",
+			buffer.getContents()
+		);
+	} finally {
+		deleteBuffer(buffer);
+	}
+}
+/**
+ * Ensures that a buffer with characters outside ISO-8859-1 is not compact.
+ */
+public void testCompactContents2() throws CoreException, UnsupportedEncodingException {
+	IBuffer buffer = createUTF8Buffer(
+		"P/x/y/A.java",
+		"package x.y;\n" +
+		"public class A { String s = \"\u20ac\"; }"
+	);
+	try {
+		assertTrue("should not be compact", !((Buffer) buffer).isCompact());
+		assertEquals("unexpected char", '\u20ac', buffer.getChar(42));
+	} finally {
+		deleteBuffer(buffer);
+	}
+}
 
 
 /**
@@ -22,6 +22,7 @@ import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.internal.core.ClasspathEntry;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 
 import junit.framework.Test;
 
@@ -1680,4 +1681,40 @@ public void testGenericFieldGetTypeSignature() throws JavaModelException {
 		}
 	}
 
+	/*
+	 * Ensures that the class files of a package can be opened in one batch, and that their children are
+	 * the same as when they are opened one by one.
+	 */
+	public void testOpenAll() throws CoreException {
+		int threads = JavaModelManager.BULK_OPEN_THREADS;
+		IPackageFragment pkg = this.jarRoot.getPackageFragment("generic");
+		IClassFile[] classFiles = pkg.getClassFiles();
+		try {
+			StringBuffer expected = new StringBuffer();
+			for (int i = 0; i < classFiles.length; i++) {
+				expected.append(expandAll(classFiles[i])).append('\n');
+				classFiles[i].close();
+			}
+			IOpenable[] openables = new IOpenable[classFiles.length + 1];
+			System.arraycopy(classFiles, 0, openables, 0, classFiles.length);
+			openables[classFiles.length] = pkg.getClassFile("Missing.class");
+
+			JavaModelManager.BULK_OPEN_THREADS = 4;
+			int opened = JavaModelManager.getJavaModelManager().openAll(openables, null);
+			assertEquals("Unexpected number of opened class files", classFiles.length, opened);
+			StringBuffer actual = new StringBuffer();
+			for (int i = 0; i < classFiles.length; i++) {
+				assertTrue(classFiles[i].getElementName() + " should be open", classFiles[i].isOpen());
+				actual.append(expandAll(classFiles[i])).append('\n');
+			}
+			assertEquals("Unexpected children", expected.toString(), actual.toString());
+			assertFalse("Missing.class should not be open", openables[classFiles.length].isOpen());
+			assertEquals("Unexpected number of opened class files", 0, JavaModelManager.getJavaModelManager().openAll(openables, null));
+		} finally {
+			JavaModelManager.BULK_OPEN_THREADS = threads;
+			for (int i = 0; i < classFiles.length; i++)
+				classFiles[i].close();
+		}
+	}
+
 }
@@ -1366,4 +1366,39 @@ public void testBug351498() throws CoreException, InterruptedException {
 		deleteProject("P");
 	}
 }
+
+/*
+ * Ensures that the secondary types are saved on exit and used after restart until their file is removed.
+ */
+public void testSecondaryTypesSavedAcrossSessions() throws CoreException {
+	try {
+		IJavaProject javaProject = createJavaProject("P");
+		createFolder("/P/p");
+		createFile(
+			"/P/p/X.java",
+			"package p;\n" +
+			"public class X {}\n" +
+			"class Secondary {}\n"
+		);
+		waitUntilIndexesReady();
+		IType type = javaProject.findType("p.Secondary", new NullProgressMonitor());
+		assertNotNull("We should have found the secondary type!", type);
+
+		simulateExitRestart();
+		assertTrue("The secondary types should have been saved",
+			javaProject.getProject().getWorkingLocation(JavaCore.PLUGIN_ID).append("secondaryTypes.dat").toFile().exists());
+		type = javaProject.findType("p.Secondary", new NullProgressMonitor());
+		assertElementEquals("We should have found the saved secondary type!",
+			"Secondary [in X.java [in p [in <project root> [in P]]]]",
+			type
+		);
+
+		deleteResource(getFile("/P/p/X.java"));
+		waitUntilIndexesReady();
+		type = javaProject.findType("p.Secondary", new NullProgressMonitor());
+		assertNull("We should have not found the removed secondary type!", type);
+	} finally {
+		deleteProject("P");
+	}
+}
 }
@@ -11,8 +11,15 @@
 package org.eclipse.jdt.core.tests.model;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
@@ -1071,6 +1078,232 @@ public void testContainerInitializer26() throws CoreException {
 		deleteProject("P2");
 	}
 }
+/*
+ * Ensures that a batch initialization does not initialize again a container that the initializer
+ * of another project already set
+ */
+public void testContainerInitializer27() throws CoreException {
+	try {
+		createProject("P1");
+		createFile("/P1/lib.jar", "");
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(new String[] {"P2", "/P1/lib.jar", "P3", "/P1/lib.jar"}));
+		IJavaProject p2 = createJavaProject(
+				"P2",
+				new String[] {},
+				new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+				"");
+		IJavaProject p3 = createJavaProject(
+				"P3",
+				new String[] {},
+				new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+				"");
+
+		// simulate state on startup
+		simulateExitRestart();
+
+		// the initializer sets the container of both projects at once
+		final StringBuffer initialized = new StringBuffer();
+		final IJavaProject[] projects = new IJavaProject[] {p2, p3};
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(new String[] {"P2", "/P1/lib.jar", "P3", "/P1/lib.jar"}) {
+			public void initialize(IPath containerPath, IJavaProject project) throws CoreException {
+				initialized.append(project.getElementName());
+				JavaCore.setClasspathContainer(
+					containerPath,
+					projects,
+					new IClasspathContainer[] {(IClasspathContainer) this.containerValues.get("P2"), (IClasspathContainer) this.containerValues.get("P3")},
+					null);
+			}
+		});
+		JavaModelManager.getJavaModelManager().batchContainerInitializations = JavaModelManager.NEED_BATCH_INITIALIZATION;
+		p2.getResolvedClasspath(true);
+		p3.getResolvedClasspath(true);
+
+		assertEquals("Unexpected number of initializations", 2, initialized.length());
+		assertClasspathEquals(
+			p3.getResolvedClasspath(true),
+			"/P1/lib.jar[CPE_LIBRARY][K_BINARY][isExported:false]"
+		);
+	} finally {
+		deleteProject("P1");
+		deleteProject("P2");
+		deleteProject("P3");
+	}
+}
+
+/*
+ * Ensures that a batch initialization can initialize the containers of different projects in parallel
+ */
+public void testContainerInitializer28() throws CoreException {
+	int threads = JavaModelManager.CONTAINER_INITIALIZATION_THREADS;
+	try {
+		JavaModelManager.CONTAINER_INITIALIZATION_THREADS = 4;
+		createProject("P1");
+		createFile("/P1/lib.jar", "");
+		String[] values = new String[] {"P2", "/P1/lib.jar", "P3", "/P1/lib.jar", "P4", "/P1/lib.jar"};
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(values));
+		IJavaProject[] projects = new IJavaProject[3];
+		for (int i = 0; i < 3; i++) {
+			projects[i] = createJavaProject(
+				"P" + (i + 2),
+				new String[] {},
+				new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+				"");
+		}
+
+		// simulate state on startup
+		simulateExitRestart();
+
+		final Thread current = Thread.currentThread();
+		final StringBuffer initialized = new StringBuffer();
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(values) {
+			public void initialize(IPath containerPath, IJavaProject project) throws CoreException {
+				if (Thread.currentThread() == current)
+					initialized.append(project.getElementName() + " initialized by the calling thread\n");
+				super.initialize(containerPath, project);
+			}
+		});
+		JavaModelManager.getJavaModelManager().batchContainerInitializations = JavaModelManager.NEED_BATCH_INITIALIZATION;
+		projects[0].getResolvedClasspath(true);
+
+		assertEquals("Unexpected initializations", "", initialized.toString());
+		for (int i = 0; i < 3; i++) {
+			assertClasspathEquals(
+				projects[i].getResolvedClasspath(true),
+				"/P1/lib.jar[CPE_LIBRARY][K_BINARY][isExported:false]"
+			);
+		}
+	} finally {
+		JavaModelManager.CONTAINER_INITIALIZATION_THREADS = threads;
+		deleteProject("P1");
+		deleteProject("P2");
+		deleteProject("P3");
+		deleteProject("P4");
+	}
+}
+/*
+ * Ensures that during a parallel batch initialization, a container initializer which needs the container of another
+ * project being initialized by another thread waits for it instead of initializing it again or seeing it as being initialized
+ */
+public void testContainerInitializer29() throws CoreException {
+	int threads = JavaModelManager.CONTAINER_INITIALIZATION_THREADS;
+	try {
+		JavaModelManager.CONTAINER_INITIALIZATION_THREADS = 2;
+		createProject("P1");
+		createFile("/P1/lib.jar", "");
+		String[] values = new String[] {"P2", "/P1/lib.jar,/P3", "P3", "/P1/lib.jar,/P2"};
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(values));
+		final IJavaProject p2 = createJavaProject(
+			"P2",
+			new String[] {},
+			new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+			"");
+		final IJavaProject p3 = createJavaProject(
+			"P3",
+			new String[] {},
+			new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+			"");
+
+		// simulate state on startup
+		simulateExitRestart();
+
+		// each initializer reads the container of the other project once both initializations have started
+		final CyclicBarrier started = new CyclicBarrier(2);
+		final List<String> initialized = Collections.synchronizedList(new ArrayList<String>());
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(values) {
+			public void initialize(IPath containerPath, IJavaProject project) throws CoreException {
+				initialized.add(project.getElementName());
+				try {
+					started.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+					// initialized one after the other
+				}
+				IJavaProject other = project.equals(p2) ? p3 : p2;
+				IClasspathContainer container = JavaCore.getClasspathContainer(containerPath, other);
+				if (container == null || container.getClasspathEntries() == null || container.getClasspathEntries().length != 2)
+					initialized.add(project.getElementName() + " could not read the container of " + other.getElementName());
+				super.initialize(containerPath, project);
+			}
+		});
+		JavaModelManager.getJavaModelManager().batchContainerInitializations = JavaModelManager.NEED_BATCH_INITIALIZATION;
+		p2.getResolvedClasspath(true);
+
+		Collections.sort(initialized);
+		assertEquals("Unexpected initializations", "[P2, P3]", initialized.toString());
+		assertClasspathEquals(
+			p2.getResolvedClasspath(true),
+			"/P1/lib.jar[CPE_LIBRARY][K_BINARY][isExported:false]\n" +
+			"/P3[CPE_PROJECT][K_SOURCE][isExported:false][combine access rules:true]"
+		);
+		assertClasspathEquals(
+			p3.getResolvedClasspath(true),
+			"/P1/lib.jar[CPE_LIBRARY][K_BINARY][isExported:false]\n" +
+			"/P2[CPE_PROJECT][K_SOURCE][isExported:false][combine access rules:true]"
+		);
+	} finally {
+		JavaModelManager.CONTAINER_INITIALIZATION_THREADS = threads;
+		deleteProject("P1");
+		deleteProject("P2");
+		deleteProject("P3");
+	}
+}
+/*
+ * Ensures that a batch initialization run by a thread owning a scheduling rule initializes the containers
+ * in this thread, since workers modifying resources would wait for this rule
+ */
+public void testContainerInitializer30() throws CoreException {
+	int threads = JavaModelManager.CONTAINER_INITIALIZATION_THREADS;
+	try {
+		JavaModelManager.CONTAINER_INITIALIZATION_THREADS = 4;
+		createProject("P1");
+		createFile("/P1/lib.jar", "");
+		String[] values = new String[] {"P2", "/P1/lib.jar", "P3", "/P1/lib.jar"};
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(values));
+		final IJavaProject p2 = createJavaProject(
+			"P2",
+			new String[] {},
+			new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+			"");
+		final IJavaProject p3 = createJavaProject(
+			"P3",
+			new String[] {},
+			new String[] {"org.eclipse.jdt.core.tests.model.TEST_CONTAINER"},
+			"");
+
+		// simulate state on startup
+		simulateExitRestart();
+
+		final Thread current = Thread.currentThread();
+		final StringBuffer initialized = new StringBuffer();
+		ContainerInitializer.setInitializer(new DefaultContainerInitializer(values) {
+			public void initialize(IPath containerPath, IJavaProject project) throws CoreException {
+				if (Thread.currentThread() != current)
+					initialized.append(project.getElementName() + " initialized by a worker\n");
+				super.initialize(containerPath, project);
+			}
+		});
+		JavaModelManager.getJavaModelManager().batchContainerInitializations = JavaModelManager.NEED_BATCH_INITIALIZATION;
+		getWorkspace().run(
+			new IWorkspaceRunnable() {
+				public void run(IProgressMonitor monitor) throws CoreException {
+					p2.getResolvedClasspath(true);
+				}
+			},
+			p2.getProject(),
+			IWorkspace.AVOID_UPDATE,
+			null);
+
+		assertEquals("Unexpected initializations", "", initialized.toString());
+		assertClasspathEquals(
+			p3.getResolvedClasspath(true),
+			"/P1/lib.jar[CPE_LIBRARY][K_BINARY][isExported:false]"
+		);
+	} finally {
+		JavaModelManager.CONTAINER_INITIALIZATION_THREADS = threads;
+		deleteProject("P1");
+		deleteProject("P2");
+		deleteProject("P3");
+	}
+}
 public void testVariableInitializer01() throws CoreException {
 	try {
 		createProject("P1");
@@ -30,6 +30,7 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
 import org.eclipse.jdt.internal.core.Buffer;
 import org.eclipse.jdt.internal.core.CompilationUnit;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.util.Util;
 import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
@@ -2639,4 +2640,50 @@ public void testBug526615() throws CoreException {
 		deleteFolder("/P/src/test1");
 	}
 }
+/*
+ * Ensures that the infos of the annotations and parameters of the members of a compilation unit
+ * are removed from the Java model cache when the unit is closed, and that their names are interned.
+ */
+public void testCloseAnnotationsAndParameters() throws CoreException {
+	try {
+		createFile("/P/src/Y.java",
+			"public class Y {\n" +
+			"  @Deprecated\n" +
+			"  static final int ZERO = 0;\n" +
+			"  @SuppressWarnings(\"unused\")\n" +
+			"  void foo(@Deprecated String value) {}\n" +
+			"  @SuppressWarnings(\"unused\")\n" +
+			"  void bar(int value) {}\n" +
+			"}");
+		ICompilationUnit unit = getCompilationUnit("/P/src/Y.java");
+		IType type = unit.getType("Y");
+		IField zero = type.getField("ZERO");
+		IMethod foo = type.getMethod("foo", new String[] {"QString;"});
+		IMethod bar = type.getMethod("bar", new String[] {"I"});
+		IAnnotation fooAnnotation = foo.getAnnotations()[0];
+		ILocalVariable fooParameter = foo.getParameters()[0];
+		IAnnotation parameterAnnotation = fooParameter.getAnnotations()[0];
+		ILocalVariable barParameter = bar.getParameters()[0];
+		IAnnotation zeroAnnotation = zero.getAnnotations()[0];
+
+		// the handles are all taken before closing, since getting them would open the unit again
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		assertNotNull("Annotation should be cached", manager.getInfo(fooAnnotation));
+		assertNotNull("Annotation of parameter should be cached", manager.getInfo(parameterAnnotation));
+		assertNotNull("Annotation of field should be cached", manager.getInfo(zeroAnnotation));
+		assertNotNull("Parameter should be cached", manager.getInfo(fooParameter));
+		assertSame("Unexpected annotation name", fooAnnotation.getElementName(), bar.getAnnotations()[0].getElementName());
+		assertSame("Unexpected parameter name", fooParameter.getElementName(), barParameter.getElementName());
+
+		unit.close();
+		assertNull("Annotation should not be cached", manager.getInfo(fooAnnotation));
+		assertNull("Annotation of parameter should not be cached", manager.getInfo(parameterAnnotation));
+		assertNull("Parameter should not be cached", manager.getInfo(fooParameter));
+		assertNull("Parameter should not be cached", manager.getInfo(barParameter));
+		assertNull("Field should not be cached", manager.getInfo(zero));
+		assertNull("Annotation of field should not be cached", manager.getInfo(zeroAnnotation));
+	} finally {
+		deleteFile("/P/src/Y.java");
+	}
+}
 }
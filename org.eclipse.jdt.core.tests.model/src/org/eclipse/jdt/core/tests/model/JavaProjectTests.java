@@ -66,6 +66,7 @@ import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.provisional.JavaModelAccess;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.core.ArchiveLayoutIndex;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.PackageFragmentRoot;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -3040,4 +3041,42 @@ public void testBug522554_3() throws CoreException {
 			deleteProject(prj);
 	}
 }
+/*
+ * Ensures that the package layout of a jar is reused when its root is opened again.
+ */
+public void testArchiveLayoutIndex() throws CoreException, IOException {
+	try {
+		IJavaProject project = createJavaProject("P");
+		addLibrary(project, "lib.jar", null, new String[] {
+				"p/X.java",
+				"package p;\n" +
+				"public class X {}",
+				"p/q/Y.java",
+				"package p.q;\n" +
+				"public class Y {}"
+			},
+			new String[] {
+				"p/readme.txt",
+				"readme"
+			},
+			"1.4");
+		IPackageFragmentRoot root = getPackageFragmentRoot("P", "lib.jar");
+		String expectedPackages =
+			"<default> [in lib.jar [in P]]\n" +
+			"p [in lib.jar [in P]]\n" +
+			"p.q [in lib.jar [in P]]";
+		assertSortedElementsEqual("Unexpected packages", expectedPackages, root.getChildren());
+
+		root.close();
+		ArchiveLayoutIndex.flush(); // read the layout from disk
+		int hitCount = ArchiveLayoutIndex.getHitCount();
+		assertSortedElementsEqual("Unexpected packages after reopening", expectedPackages, root.getChildren());
+		assertEquals("Layout should be reused", hitCount + 1, ArchiveLayoutIndex.getHitCount());
+		IPackageFragment pkg = root.getPackageFragment("p");
+		assertElementsEqual("Unexpected class files", "X.class [in p [in lib.jar [in P]]]", pkg.getChildren());
+		assertResourceNamesEqual("Unexpected non-Java resources", "readme.txt", pkg.getNonJavaResources());
+	} finally {
+		deleteProject("P");
+	}
+}
 }
@@ -19,6 +19,7 @@ import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.core.JavaElement;
 import org.eclipse.jdt.internal.core.LocalVariable;
+import org.eclipse.jdt.internal.core.util.MementoTokenizer;
 
 import junit.framework.Test;
 
@@ -805,4 +806,20 @@ public void testBug331821() throws JavaModelException {
 	IPackageFragmentRoot newRoot = (IPackageFragmentRoot) JavaCore.create(handleIdentifier);
 	assertEquals(root, newRoot);
 }
+/*
+ * Tests that the tokens of a memento with escaped characters are read in place,
+ * delimiters being answered as the shared constants.
+ */
+public void testMementoTokenizer() {
+	MementoTokenizer tokenizer = new MementoTokenizer("=P/src<p{X.java[X~fred~\\[Z");
+	String[] expected = {"=", "P", "/", "src", "<", "p", "{", "X.java", "[", "X", "~", "fred", "~", "[Z"};
+	for (int i = 0; i < expected.length; i++) {
+		assertTrue("Missing token " + i, tokenizer.hasMoreTokens());
+		String token = tokenizer.nextToken();
+		assertEquals("Unexpected token " + i, expected[i], token);
+		if (i == 8)
+			assertSame("Delimiter should be shared", MementoTokenizer.TYPE, token);
+	}
+	assertFalse("Unexpected token", tokenizer.hasMoreTokens());
+}
 }
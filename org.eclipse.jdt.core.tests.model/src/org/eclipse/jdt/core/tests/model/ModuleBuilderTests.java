@@ -12,6 +12,8 @@ package org.eclipse.jdt.core.tests.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
@@ -44,6 +46,7 @@ import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.JrtImageLayout;
 import org.eclipse.jdt.internal.core.ClasspathAttribute;
 import org.eclipse.jdt.internal.core.ClasspathEntry;
 import org.eclipse.jdt.internal.core.builder.ClasspathJrt;
@@ -6704,6 +6707,47 @@ public class ModuleBuilderTests extends ModifyingResourceTests {
 		}
 	}
 
+	public void testJrtImageLayout() throws IOException {
+		if (!isJRE9) return;
+		File image = getJRE9Path().toFile();
+		boolean enabled = JrtImageLayout.ENABLED;
+		try {
+			JrtImageLayout.ENABLED = false;
+			JRTUtil.reset();
+			String expected = walkModuleImage(image);
+			JrtImageLayout.ENABLED = true;
+			JRTUtil.reset();
+			assertEquals("Unexpected walk while recording", expected, walkModuleImage(image));
+			assertEquals("Unexpected walk from memory", expected, walkModuleImage(image));
+			JRTUtil.reset(); // read the layout from the state location
+			assertEquals("Unexpected walk from disk", expected, walkModuleImage(image));
+		} finally {
+			JrtImageLayout.ENABLED = enabled;
+			JRTUtil.reset();
+		}
+	}
+	private String walkModuleImage(File image) throws IOException {
+		final StringBuilder buffer = new StringBuilder();
+		JRTUtil.walkModuleImage(image, new JRTUtil.JrtFileVisitor<java.nio.file.Path>() {
+			@Override
+			public FileVisitResult visitPackage(java.nio.file.Path dir, java.nio.file.Path mod, BasicFileAttributes attrs) {
+				buffer.append("package ").append(mod).append('/').append(dir).append('\n');
+				return dir.toString().equals("java/util") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+			}
+			@Override
+			public FileVisitResult visitFile(java.nio.file.Path file, java.nio.file.Path mod, BasicFileAttributes attrs) {
+				buffer.append("file ").append(mod).append('/').append(file.getParent()).append('/').append(file.getFileName()).append('\n');
+				return FileVisitResult.CONTINUE;
+			}
+			@Override
+			public FileVisitResult visitModule(java.nio.file.Path mod) {
+				buffer.append("module ").append(mod).append('\n');
+				return mod.toString().equals("java.sql") ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+			}
+		}, JRTUtil.NOTIFY_ALL);
+		return buffer.toString();
+	}
+
 	protected void assertNoErrors() throws CoreException {
 		for (IProject p : getWorkspace().getRoot().getProjects()) {
 			int maxSeverity = p.findMaxProblemSeverity(null, true, IResource.DEPTH_INFINITE);
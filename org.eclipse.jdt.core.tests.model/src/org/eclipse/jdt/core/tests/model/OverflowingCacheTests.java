@@ -689,6 +689,57 @@ public class OverflowingCacheTests extends ModifyingResourceTests {
 		assertEquals("overflow space incorrect (after flush)", 0, actualOverflow);
 	}
 
+	/**
+	 * Creates an ElementCache with a space limit of 500 and a weight limit of 10 infos,
+	 * inserts 20 elements and ensures that only the 10 most recent ones are kept.
+	 * Elements with unsaved changes are kept even if the cache is over its weight limit.
+	 */
+	public void testElementCacheWeightLimit() {
+		int entryCount = 20;
+		ElementCache<OverflowingTestOpenable> cache = new ElementCache<>(500);
+		cache.setWeightLimit(10 * ElementCache.INFO_WEIGHT);
+		OverflowingTestOpenable[] openables = new OverflowingTestOpenable[entryCount];
+		for (int i = 0; i < entryCount; i++) {
+			openables[i] = new OverflowingTestOpenable(new OverflowingTestBuffer(i == 0, null), cache);
+			cache.put(openables[i], new MockInfo(i));
+		}
+
+		assertEquals("current space incorrect", 10, cache.getCurrentSpace());
+		assertEquals("current weight incorrect", 10 * ElementCache.INFO_WEIGHT, cache.getCurrentWeight());
+		assertEquals("eviction count incorrect", 10, cache.getEvictionCount());
+		assertEquals("wrong value (0)", new MockInfo(0), cache.peek(openables[0]));
+		for (int i = 1; i < entryCount; i++) {
+			Object value = cache.peek(openables[i]);
+			assertEquals("wrong value (" + i + ")", i > 10 ? new MockInfo(i) : null, value);
+		}
+
+		// once saved, the oldest element is closed when the next element is added
+		openables[0].save(null, false);
+		cache.put(new OverflowingTestOpenable(new OverflowingTestBuffer(false, null), cache), new MockInfo(entryCount));
+		assertEquals("current weight incorrect (after save)", 10 * ElementCache.INFO_WEIGHT, cache.getCurrentWeight());
+		assertNull("entry should not be present", cache.peek(openables[0]));
+	}
+
+	/**
+	 * Ensures that the hit and miss counters of an ElementCache are updated by #get and can be reset.
+	 */
+	public void testElementCacheStatistics() {
+		ElementCache<OverflowingTestOpenable> cache = new ElementCache<>(10);
+		OverflowingTestOpenable openable = new OverflowingTestOpenable(new OverflowingTestBuffer(false, null), cache);
+		cache.get(openable);
+		cache.put(openable, new MockInfo(0));
+		cache.get(openable);
+		cache.get(openable);
+		cache.peek(openable);
+		assertEquals("hit count incorrect", 2, cache.getHitCount());
+		assertEquals("miss count incorrect", 1, cache.getMissCount());
+		assertEquals("eviction count incorrect", 0, cache.getEvictionCount());
+
+		cache.resetStatistics();
+		assertEquals("hit count incorrect (after reset)", 0, cache.getHitCount());
+		assertEquals("miss count incorrect (after reset)", 0, cache.getMissCount());
+	}
+
 	static class MockInfo extends JavaElementInfo {
 		private final int index;
 
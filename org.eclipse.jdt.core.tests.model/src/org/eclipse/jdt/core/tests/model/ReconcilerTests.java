@@ -42,6 +42,7 @@ import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.CompilationUnit;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.ReconcileAnswers;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.osgi.framework.Bundle;
 
@@ -1838,6 +1839,135 @@ public void testExternal3() throws Exception {
 	}
 }
 
+/*
+ * Ensures that editing the body of a method rebuilds the structure of a working copy without parsing it
+ * again, and shifts the positions of the following elements.
+ */
+public void testIncrementalStructure1() throws CoreException {
+	this.workingCopy.discardWorkingCopy(); // don't use the one created in setUp()
+	this.workingCopy = getCompilationUnit("/Reconciler/src/p1/X.java").getWorkingCopy(null);
+	this.workingCopy.getBuffer().setContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"    int i = 0;\n" +
+		"  }\n" +
+		"  public void bar(int j) {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	String contents =
+		"package p1;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"    int i = 0;\n" +
+		"    i++;\n" +
+		"  }\n" +
+		"  public void bar(int j) {\n" +
+		"  }\n" +
+		"}";
+	this.workingCopy.getBuffer().setContents(contents);
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertEquals("Should have rebuilt the structure", 1, ((CompilationUnit) this.workingCopy).getPerWorkingCopyInfo().getStructure().getRebuildCount());
+
+	IType type = this.workingCopy.getType("X");
+	ISourceRange range = type.getSourceRange();
+	assertEquals("Unexpected end of X", contents.length(), range.getOffset() + range.getLength());
+	IMethod bar = type.getMethod("bar", new String[] {"I"});
+	assertSourceEquals(
+		"Unexpected source of bar()",
+		"public void bar(int j) {\n" +
+		"  }",
+		bar.getSource());
+	assertEquals("Unexpected name position of bar()", contents.indexOf("bar"), bar.getNameRange().getOffset());
+	assertEquals("Unexpected name position of j", contents.indexOf("j)"), bar.getParameters()[0].getNameRange().getOffset());
+}
+/*
+ * Ensures that adding a local type to the body of a method parses the working copy again.
+ */
+public void testIncrementalStructure2() throws CoreException {
+	this.workingCopy.discardWorkingCopy(); // don't use the one created in setUp()
+	this.workingCopy = getCompilationUnit("/Reconciler/src/p1/X.java").getWorkingCopy(null);
+	this.workingCopy.getBuffer().setContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	this.workingCopy.getBuffer().setContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"    class Local {}\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertEquals("Should have parsed the working copy", 0, ((CompilationUnit) this.workingCopy).getPerWorkingCopyInfo().getStructure().getRebuildCount());
+	assertTrue("Local should exist", this.workingCopy.getType("X").getMethod("foo", new String[0]).getType("Local", 1).exists());
+}
+/*
+ * Ensures that the parameters of a method following an edited method body still exist
+ * and that their infos are no longer cached under the handles of their former positions.
+ */
+public void testIncrementalStructure3() throws CoreException {
+	this.workingCopy.discardWorkingCopy(); // don't use the one created in setUp()
+	this.workingCopy = getCompilationUnit("/Reconciler/src/p1/X.java").getWorkingCopy(null);
+	this.workingCopy.getBuffer().setContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"  }\n" +
+		"  public void bar(int j) {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	IMethod bar = this.workingCopy.getType("X").getMethod("bar", new String[] {"I"});
+	ILocalVariable oldParameter = bar.getParameters()[0];
+	assertTrue("j should exist before the edit", oldParameter.exists());
+	this.workingCopy.getBuffer().setContents(
+		"package p1;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"    int i = 0;\n" +
+		"  }\n" +
+		"  public void bar(int j) {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertEquals("Should have rebuilt the structure", 1, ((CompilationUnit) this.workingCopy).getPerWorkingCopyInfo().getStructure().getRebuildCount());
+
+	ILocalVariable parameter = bar.getParameters()[0];
+	assertTrue("j should exist", parameter.exists());
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	assertNotNull("j should have an info", manager.getInfo(parameter));
+	assertNull("j should not have an info at its former position", manager.getInfo(oldParameter));
+}
+/*
+ * Ensures that editing the default value of an annotation method parses the working copy again.
+ */
+public void testIncrementalStructure4() throws CoreException {
+	this.workingCopy.discardWorkingCopy(); // don't use the one created in setUp()
+	this.workingCopy = getCompilationUnit("/Reconciler/src/p1/X.java").getWorkingCopy(null);
+	this.workingCopy.getBuffer().setContents(
+		"package p1;\n" +
+		"public @interface X {\n" +
+		"  String[] value() default {\"a\"};\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	String contents =
+		"package p1;\n" +
+		"public @interface X {\n" +
+		"  String[] value() default {\"a\", \"b\"};\n" +
+		"}";
+	this.workingCopy.getBuffer().setContents(contents);
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertEquals("Should have parsed the working copy", 0, ((CompilationUnit) this.workingCopy).getPerWorkingCopyInfo().getStructure().getRebuildCount());
+	IMethod value = this.workingCopy.getType("X").getMethod("value", new String[0]);
+	ISourceRange range = value.getSourceRange();
+	assertEquals("Unexpected end of value()", contents.indexOf(';', contents.indexOf("default")) + 1, range.getOffset() + range.getLength());
+}
+
 /*
  * Ensures that included part of prereq project are visible
  */
@@ -2896,6 +3026,81 @@ public void testRawUsage() throws CoreException {
 			otherCopy.discardWorkingCopy();
 	}
 }
+/*
+ * Ensures that the types found while reconciling a working copy are reused by its next reconcile,
+ * and forgotten when one of them changes.
+ */
+public void testReconcileAnswers() throws CoreException {
+	try {
+		createFile(
+			"/Reconciler/src/p1/Y.java",
+			"package p1;\n" +
+			"public class Y {\n" +
+			"  public void bar() {\n" +
+			"  }\n" +
+			"}"
+		);
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  public void foo(Y y) {\n" +
+			"    y.bar();\n" +
+			"  }\n" +
+			"}");
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, true, null, null);
+		assertProblems(
+			"Unexpected problems",
+			"----------\n" +
+			"----------\n"
+		);
+		ReconcileAnswers answers = ((CompilationUnit) this.workingCopy).getPerWorkingCopyInfo().getReconcileAnswers();
+		assertTrue("Should remember the types found", answers.size() > 0);
+
+		// changing the working copy keeps the answers
+		int hitCount = answers.getHitCount();
+		setWorkingCopyContents(
+			"package p1;\n" +
+			"public class X {\n" +
+			"  public void foo(Y y) {\n" +
+			"    y.bar();\n" +
+			"    y.bar();\n" +
+			"  }\n" +
+			"}");
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, true, null, null);
+		assertProblems(
+			"Unexpected problems",
+			"----------\n" +
+			"----------\n"
+		);
+		assertTrue("Should reuse the types found", answers.getHitCount() > hitCount);
+
+		// changing a type the working copy depends on forgets the answers
+		editFile(
+			"/Reconciler/src/p1/Y.java",
+			"package p1;\n" +
+			"public class Y {\n" +
+			"}"
+		);
+		this.problemRequestor.initialize(this.workingCopy.getSource().toCharArray());
+		this.workingCopy.reconcile(ICompilationUnit.NO_AST, true, null, null);
+		assertProblems(
+			"Unexpected problems",
+			"----------\n" +
+			"1. ERROR in /Reconciler/src/p1/X.java (at line 4)\n" +
+			"	y.bar();\n" +
+			"	  ^^^\n" +
+			"The method bar() is undefined for the type Y\n" +
+			"----------\n" +
+			"2. ERROR in /Reconciler/src/p1/X.java (at line 5)\n" +
+			"	y.bar();\n" +
+			"	  ^^^\n" +
+			"The method bar() is undefined for the type Y\n" +
+			"----------\n"
+		);
+	} finally {
+		deleteFile("/Reconciler/src/p1/Y.java");
+	}
+}
 /*
  * Ensures that a reconcile participant is notified when a working copy is reconciled.
  */
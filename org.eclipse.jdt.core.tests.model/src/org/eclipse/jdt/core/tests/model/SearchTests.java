@@ -444,6 +444,66 @@ public void testChangeClasspath2() throws CoreException {
 		deleteProject("P1");
 	}
 }
+/*
+ * Ensure that consecutive changes of a compilation unit waiting to be indexed are indexed once,
+ * and that the index contains the last contents.
+ */
+public void testConsecutiveChanges() throws CoreException, TimeOutException {
+	WaitingJob job = new WaitingJob();
+	try {
+		createJavaProject("P1");
+		createFile(
+			"/P1/X.java",
+			"public class X {\n" +
+			"}"
+		);
+		waitUntilIndexesReady();
+
+		// suspend indexing and change the compilation unit several times
+		job.suspend();
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		editFile(
+			"/P1/X.java",
+			"public class X {\n" +
+			"}\n" +
+			"class Y {\n" +
+			"}"
+		);
+		int awaitingJobs = indexManager.awaitingJobsCount();
+		editFile(
+			"/P1/X.java",
+			"public class X {\n" +
+			"}\n" +
+			"class Z {\n" +
+			"}"
+		);
+		assertEquals("Unexpected awaiting jobs", awaitingJobs, indexManager.awaitingJobsCount());
+
+		// removing the compilation unit and adding it back needs another indexing
+		deleteFile("/P1/X.java");
+		createFile(
+			"/P1/X.java",
+			"public class X {\n" +
+			"}\n" +
+			"class W {\n" +
+			"}"
+		);
+		assertEquals("Unexpected awaiting jobs", awaitingJobs + 2, indexManager.awaitingJobsCount());
+
+		// resume waiting job
+		job.resume();
+
+		assertAllTypes(
+			"Unexpected all types after consecutive changes",
+			getJavaProject("P1"),
+			"W\n" +
+			"X"
+		);
+	} finally {
+		job.resume();
+		deleteProject("P1");
+	}
+}
 /*
  * Ensure that performing a concurrent job while indexing a jar doesn't use the old index.
  * (regression test for bug 35306 Index update request can be incorrectly handled)
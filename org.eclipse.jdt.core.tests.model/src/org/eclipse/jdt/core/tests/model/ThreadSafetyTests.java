@@ -10,7 +10,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -116,4 +119,56 @@ public void testDeadlock01() throws CoreException {
 		this.deleteProject("P");
 	}
 }
+/*
+ * Ensures that members of compilation units can be read from several threads
+ * while the compilation units are being closed and reopened.
+ */
+public void testConcurrentOpenAndClose() throws Exception {
+	try {
+		createJavaProject("P");
+		final int unitCount = 10;
+		final ICompilationUnit[] units = new ICompilationUnit[unitCount];
+		for (int i = 0; i < unitCount; i++) {
+			createFile(
+				"/P/X" + i + ".java",
+				"public class X" + i + " {\n" +
+				"  int field;\n" +
+				"  void foo() {}\n" +
+				"}"
+			);
+			units[i] = getCompilationUnit("/P/X" + i + ".java");
+		}
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			final boolean closing = t == 0;
+			threads[t] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						for (int n = 0; n < 200; n++) {
+							ICompilationUnit unit = units[n % unitCount];
+							if (closing) {
+								unit.close();
+							} else {
+								IType type = unit.getTypes()[0];
+								assertEquals("Unexpected number of fields", 1, type.getFields().length);
+								assertEquals("Unexpected number of methods", 1, type.getMethods().length);
+							}
+						}
+					} catch (Throwable e) {
+						failures.add(e);
+					}
+				}
+			}, "Open-" + t);
+			threads[t].setDaemon(true);
+			threads[t].start();
+		}
+		for (int t = 0; t < threads.length; t++) {
+			threads[t].join(60000);
+		}
+		assertEquals("Unexpected failures", "[]", failures.toString());
+	} finally {
+		deleteProject("P");
+	}
+}
 }
@@ -42,6 +42,9 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.tests.model.SearchTests.WaitingJob;
 import org.eclipse.jdt.core.tests.model.Semaphore.TimeOutException;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.hierarchy.HierarchyResolver;
+import org.eclipse.jdt.internal.core.hierarchy.RegionBasedHierarchyBuilder;
+import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchyCache;
 
 @SuppressWarnings("rawtypes")
 public class TypeHierarchyTests extends ModifyingResourceTests {
@@ -1899,6 +1902,31 @@ public void testRegion3() throws JavaModelException {
 		h.getAllTypes()
 	);
 }
+/*
+ * Ensures that a type hierarchy on a region that is resolved on several threads
+ * is the same as when it is resolved on the calling thread.
+ */
+public void testRegionInParallel() throws JavaModelException {
+	int threads = RegionBasedHierarchyBuilder.RESOLVER_THREADS;
+	int partitionSize = RegionBasedHierarchyBuilder.PARTITION_SIZE;
+	try {
+		IJavaProject project = getJavaProject("TypeHierarchy");
+		IRegion region = JavaCore.newRegion();
+		region.add(project);
+		RegionBasedHierarchyBuilder.RESOLVER_THREADS = 1;
+		String expected = project.newTypeHierarchy(region, null).toString();
+
+		RegionBasedHierarchyBuilder.RESOLVER_THREADS = 4;
+		RegionBasedHierarchyBuilder.PARTITION_SIZE = 3;
+		assertEquals(
+			"Unexpected hierarchy",
+			expected,
+			project.newTypeHierarchy(region, null).toString());
+	} finally {
+		RegionBasedHierarchyBuilder.RESOLVER_THREADS = threads;
+		RegionBasedHierarchyBuilder.PARTITION_SIZE = partitionSize;
+	}
+}
 public void _testRegion4() throws CoreException {
 	try {
 		IJavaProject p1 = createJavaProject("P1");
@@ -3014,4 +3042,126 @@ public void testBug507954_0001() throws JavaModelException, CoreException {
 	}
 }
 
+/*
+ * Ensures that the potential subtypes parsed on several threads give the same hierarchy
+ * as when they are parsed on the calling thread.
+ */
+public void testParallelParse() throws CoreException {
+	int threads = HierarchyResolver.PARSER_THREADS;
+	int threshold = HierarchyResolver.PARALLEL_PARSE_THRESHOLD;
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[] {"JCL_LIB"}, "bin");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/X.java", "package p;\npublic class X {}");
+		StringBuffer expected = new StringBuffer();
+		for (int i = 0; i < 40; i++) {
+			createFile(
+				"/P/src/p/Y" + i + ".java",
+				"package p;\n" +
+				"public class Y" + i + " extends X {\n" +
+				"	void foo() {\n" +
+				"		new X() {};\n" +
+				"	}\n" +
+				"}");
+		}
+		IType type = getCompilationUnit("/P/src/p/X.java").getType("X");
+
+		HierarchyResolver.PARSER_THREADS = 1;
+		IType[] serialSubtypes = type.newTypeHierarchy(null).getAllSubtypes(type);
+		sortTypes(serialSubtypes);
+		for (int i = 0; i < serialSubtypes.length; i++)
+			expected.append(serialSubtypes[i].getFullyQualifiedName()).append('\n');
+		assertEquals("Unexpected number of subtypes", 80, serialSubtypes.length);
+
+		getJavaProject("P").close();
+		TypeHierarchyCache.flush();
+		HierarchyResolver.PARSER_THREADS = 4;
+		HierarchyResolver.PARALLEL_PARSE_THRESHOLD = 1;
+		assertTypesEqual(
+			"Unexpected subtypes",
+			expected.toString(),
+			type.newTypeHierarchy(null).getAllSubtypes(type));
+	} finally {
+		HierarchyResolver.PARSER_THREADS = threads;
+		HierarchyResolver.PARALLEL_PARSE_THRESHOLD = threshold;
+		deleteProject("P");
+	}
+}
+
+/*
+ * Ensures that a hierarchy requested again on the same type is answered from the cache,
+ * and that it is computed again once a delta affects it.
+ */
+public void testHierarchyCache() throws CoreException {
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[] {"JCL_LIB"}, "bin");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/X.java", "package p;\npublic class X {}");
+		createFile("/P/src/p/Y.java", "package p;\npublic class Y extends X {}");
+		IType type = getCompilationUnit("/P/src/p/X.java").getType("X");
+
+		assertTypesEqual(
+			"Unexpected subtypes",
+			"p.Y\n",
+			type.newTypeHierarchy(null).getAllSubtypes(type));
+		int hitCount = TypeHierarchyCache.getHitCount();
+		ITypeHierarchy hierarchy = type.newTypeHierarchy(null);
+		assertEquals("Unexpected hit count", hitCount + 1, TypeHierarchyCache.getHitCount());
+		assertTypesEqual(
+			"Unexpected cached subtypes",
+			"p.Y\n",
+			hierarchy.getAllSubtypes(type));
+
+		createFile("/P/src/p/Z.java", "package p;\npublic class Z extends Y {}");
+		assertTypesEqual(
+			"Unexpected subtypes after change",
+			"p.Y\n" +
+			"p.Z\n",
+			type.newTypeHierarchy(null).getAllSubtypes(type));
+		assertEquals("Unexpected hit count after change", hitCount + 1, TypeHierarchyCache.getHitCount());
+	} finally {
+		deleteProject("P");
+	}
+}
+
+/*
+ * Ensures that a hierarchy is answered from the cache while a working copy without unsaved changes is open,
+ * and that it is computed again with the contents of a working copy which has unsaved changes.
+ */
+public void testHierarchyCache2() throws CoreException {
+	ICompilationUnit workingCopy = null;
+	try {
+		createJavaProject("P", new String[] {"src"}, new String[] {"JCL_LIB"}, "bin");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/X.java", "package p;\npublic class X {}");
+		createFile("/P/src/p/Y.java", "package p;\npublic class Y extends X {}");
+		IType type = getCompilationUnit("/P/src/p/X.java").getType("X");
+		workingCopy = getCompilationUnit("/P/src/p/Y.java");
+		workingCopy.becomeWorkingCopy(null);
+
+		assertTypesEqual(
+			"Unexpected subtypes",
+			"p.Y\n",
+			type.newTypeHierarchy(null).getAllSubtypes(type));
+		int hitCount = TypeHierarchyCache.getHitCount();
+		assertTypesEqual(
+			"Unexpected cached subtypes",
+			"p.Y\n",
+			type.newTypeHierarchy(null).getAllSubtypes(type));
+		assertEquals("Unexpected hit count", hitCount + 1, TypeHierarchyCache.getHitCount());
+
+		workingCopy.getBuffer().setContents("package p;\npublic class Y {}");
+		workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		assertTypesEqual(
+			"Unexpected subtypes with unsaved changes",
+			"",
+			type.newTypeHierarchy(null).getAllSubtypes(type));
+		assertEquals("Unexpected hit count with unsaved changes", hitCount + 1, TypeHierarchyCache.getHitCount());
+	} finally {
+		if (workingCopy != null)
+			workingCopy.discardWorkingCopy();
+		deleteProject("P");
+	}
+}
+
 }
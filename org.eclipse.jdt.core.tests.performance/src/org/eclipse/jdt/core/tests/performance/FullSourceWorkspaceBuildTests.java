@@ -28,6 +28,7 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaProject;
@@ -800,4 +801,54 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		tagAsSummary("Build with Generic Types ", false); // do NOT put in fingerprint
 		compile(new String[] {"GenericsTest.java"}, "", "1.8", false /*no log*/ );	
 	}
+
+	/**
+	 * Incremental build of a 20k sources project after a structural change of a core type
+	 * which is only referenced by a small part of the project.
+	 * Most of the time is spent to find the affected source files.
+	 */
+	public void testIncrementalBuildCoreTypeChange() throws CoreException {
+		tagAsSummary("Incremental build after core type change", false); // do NOT put in fingerprint
+
+		// Create a project with 20k sources, one in fifty referencing the core type
+		final int packages = 100, classesPerPackage = 200;
+		IPath projectPath = ENV.addProject("CoreTypeChange", "1.5");
+		ENV.addExternalJars(projectPath, org.eclipse.jdt.core.tests.util.Util.getJavaClassLibs());
+		ENV.removePackageFragmentRoot(projectPath, "");
+		final IPath root = ENV.addPackageFragmentRoot(projectPath, "src");
+		ENV.setOutputFolder(projectPath, "bin");
+		IWorkspaceRunnable create = new IWorkspaceRunnable() {
+			public void run(IProgressMonitor monitor) throws CoreException {
+				ENV.addClass(root, "core", "Core", "package core;\npublic class Core {\n}\n");
+				for (int p = 0; p < packages; p++) {
+					for (int c = 0; c < classesPerPackage; c++) {
+						String reference = (c % 50 == 0) ? "	core.Core core;\n" : "	X" + (c - 1) + " previous;\n";
+						ENV.addClass(root, "p" + p, "X" + c, "package p" + p + ";\npublic class X" + c + " {\n" + reference + "}\n");
+					}
+				}
+			}
+		};
+		ResourcesPlugin.getWorkspace().run(create, null);
+		ENV.fullBuild(projectPath);
+
+		// Warm up
+		for (int i = 0; i < WARMUP_COUNT; i++) {
+			ENV.addClass(root, "core", "Core", "package core;\npublic class Core {\n	public int warmup" + i + ";\n}\n");
+			ENV.incrementalBuild(projectPath);
+		}
+
+		// Measures
+		for (int i = 0; i < MEASURES_COUNT; i++) {
+			ENV.addClass(root, "core", "Core", "package core;\npublic class Core {\n	public int field" + i + ";\n}\n");
+			runGc();
+			startMeasuring();
+			ENV.incrementalBuild(projectPath);
+			stopMeasuring();
+		}
+
+		// Commit
+		commitMeasurements();
+		assertPerformance();
+		ENV.removeProject(projectPath);
+	}
 }
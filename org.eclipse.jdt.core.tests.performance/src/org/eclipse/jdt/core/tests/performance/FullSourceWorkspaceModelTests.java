@@ -18,6 +18,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.List;
 
 import junit.framework.Test;
 
@@ -1103,6 +1104,38 @@ public void testPopulateTwoBigJars() throws CoreException {
 	}
 }
 
+/*
+ * Performance test for opening every compilation unit of a big project.
+ * The used heap is part of the measured dimensions: it shows the size of the infos of the open units.
+ */
+public void testOpenAllCompilationUnits() throws CoreException {
+	List units = getProjectCompilationUnits(BIG_PROJECT);
+	int size = units.size();
+
+	// warm up
+	int warmup = WARMUP_COUNT / 10;
+	for (int i = 0; i < warmup; i++) {
+		BIG_PROJECT.close();
+		for (int j = 0; j < size; j++) {
+			((ICompilationUnit) units.get(j)).open(null);
+		}
+	}
+
+	// measure performance
+	for (int i = 0; i < MEASURES_COUNT; i++) {
+		BIG_PROJECT.close();
+		runGc();
+		startMeasuring();
+		for (int j = 0; j < size; j++) {
+			((ICompilationUnit) units.get(j)).open(null);
+		}
+		stopMeasuring();
+	}
+
+	commitMeasurements();
+	assertPerformance();
+}
+
 /*
  * Performance test for looking up package fragments
  * (see bug 72683 Slow code assist in Display view)
@@ -879,18 +879,17 @@ private boolean hasNonSyntheticFieldChanges(FieldInfo[] currentFieldInfos, Field
 	return false;
 }
 
-private boolean hasNonSyntheticMethodChanges(MethodInfo[] currentMethodInfos, MethodInfo[] otherMethodInfos) {
+private boolean hasNonSyntheticMethodChanges(MethodInfo[] currentMethodInfos, MethodInfo[] otherMethodInfos, boolean excludesPrivate) {
 	int length1 = currentMethodInfos == null ? 0 : currentMethodInfos.length;
 	int length2 = otherMethodInfos == null ? 0 : otherMethodInfos.length;
 	int index1 = 0;
 	int index2 = 0;
 
-	MethodInfo m;
 	end : while (index1 < length1 && index2 < length2) {
-		while ((m = currentMethodInfos[index1]).isSynthetic() || m.isClinit()) {
+		while (isIgnoredMethod(currentMethodInfos[index1], excludesPrivate)) {
 			if (++index1 >= length1) break end;
 		}
-		while ((m = otherMethodInfos[index2]).isSynthetic() || m.isClinit()) {
+		while (isIgnoredMethod(otherMethodInfos[index2], excludesPrivate)) {
 			if (++index2 >= length2) break end;
 		}
 		if (hasStructuralMethodChanges(currentMethodInfos[index1++], otherMethodInfos[index2++]))
@@ -898,14 +897,19 @@ private boolean hasNonSyntheticMethodChanges(MethodInfo[] currentMethodInfos, Me
 	}
 
 	while (index1 < length1) {
-		if (!((m = currentMethodInfos[index1++]).isSynthetic() || m.isClinit())) return true;
+		if (!isIgnoredMethod(currentMethodInfos[index1++], excludesPrivate)) return true;
 	}
 	while (index2 < length2) {
-		if (!((m = otherMethodInfos[index2++]).isSynthetic() || m.isClinit())) return true;
+		if (!isIgnoredMethod(otherMethodInfos[index2++], excludesPrivate)) return true;
 	}
 	return false;
 }
 
+private static boolean isIgnoredMethod(MethodInfo methodInfo, boolean excludesPrivate) {
+	return methodInfo.isSynthetic() || methodInfo.isClinit()
+		|| (excludesPrivate && (methodInfo.getModifiers() & ClassFileConstants.AccPrivate) != 0);
+}
+
 /**
  * Check if the receiver has structural changes compare to the byte array in argument.
  * Structural changes are:
@@ -942,6 +946,29 @@ public boolean hasStructuralChanges(byte[] newBytes) {
  * @return boolean Returns true is there is a structural change between the two .class files, false otherwise
  */
 public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, boolean excludesSynthetic) {
+	return hasStructuralChanges(newBytes, orderRequired, excludesSynthetic, false);
+}
+
+/**
+ * Check if the receiver has structural changes compare to the byte array in argument,
+ * as seen from other compilation units.
+ * Same as {@link #hasStructuralChanges(byte[], boolean, boolean)}, but when <code>excludesPrivate</code>
+ * is set, private methods and constructors are ignored like synthetic ones: they cannot be referenced
+ * from another compilation unit, so adding, removing or changing them does not affect dependents.
+ * Private fields are still compared since they hide the fields of the same name inherited from
+ * the supertypes (JLS 8.3), and change what dependents bind to.
+ * Changes of the modifiers of a method from or to private are still reported since the
+ * method appears or disappears from the compared methods.
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @param orderRequired a boolean indicating whether the members should be sorted or not
+ * @param excludesSynthetic a boolean indicating whether the synthetic members should be used in the comparison
+ * @param excludesPrivate a boolean indicating whether the private methods should be used in the comparison,
+ * 	only taken into account when <code>excludesSynthetic</code> is set
+ * @return boolean Returns true is there is a structural change between the two .class files, false otherwise;
+ * 	when <code>excludesPrivate</code> is set, only the changes to private methods and constructors are not reported,
+ * 	those to private fields and private member types are
+ */
+public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, boolean excludesSynthetic, boolean excludesPrivate) {
 	try {
 		ClassFileReader newClassFile =
 			new ClassFileReader(newBytes, this.classFileName);
@@ -1049,7 +1076,7 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 					Arrays.sort(otherMethodInfos);
 			}
 			if (excludesSynthetic) {
-				if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos))
+				if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos, excludesPrivate))
 					return true;
 			} else {
 				for (int i = 0; i < this.methodsCount; i++)
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * A directory of files named by a digest of their key, used by the caches which are kept on disk
+ * across sessions (see {@link JrtImageLayout}).
+ * <p>
+ * Files are written to a temporary file which is then renamed, so that a file is either complete or absent,
+ * even if it is written concurrently. The total size of the files can be bounded: the least recently used
+ * files are deleted when it is exceeded. Readers mark a file as used with {@link #used(File)}.
+ * </p>
+ */
+public class DigestFileStore {
+
+	/**
+	 * Writes the contents of a file of a store.
+	 */
+	public interface Contents {
+		void writeTo(DataOutputStream out) throws IOException;
+	}
+
+	final File directory;
+	private final String fileExtension;
+	private long size = -1; // unknown until the first file is written
+
+	/**
+	 * Creates a store of the files with the given extension in the given directory.
+	 */
+	public DigestFileStore(File directory, String fileExtension) {
+		this.directory = directory;
+		this.fileExtension = fileExtension;
+	}
+
+	/**
+	 * Returns the file of the given key, or <code>null</code> if its name cannot be computed.
+	 */
+	public File fileFor(String key) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder name = new StringBuilder(digest.length * 2 + this.fileExtension.length());
+			for (byte b : digest) {
+				name.append(Character.forDigit((b >> 4) & 0xF, 16));
+				name.append(Character.forDigit(b & 0xF, 16));
+			}
+			return new File(this.directory, name.append(this.fileExtension).toString());
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Marks the given file as the most recently used one.
+	 */
+	public void used(File file) {
+		file.setLastModified(System.currentTimeMillis());
+	}
+
+	/**
+	 * Writes the file of the given key with the given contents, then deletes the least recently used files
+	 * while the total size of the files exceeds the given maximum size, unless it is 0.
+	 * Returns whether the file was written.
+	 */
+	public boolean write(String key, Contents contents, long maxSize) throws IOException {
+		File file = fileFor(key);
+		if (file == null) return false;
+		this.directory.mkdirs();
+		File tempFile = File.createTempFile("store", ".tmp", this.directory); //$NON-NLS-1$ //$NON-NLS-2$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 32 * 1024))) {
+			contents.writeTo(out);
+		} catch (IOException | RuntimeException e) {
+			tempFile.delete();
+			throw e;
+		}
+		long oldLength = file.length();
+		if (!tempFile.renameTo(file)) {
+			file.delete();
+			if (!tempFile.renameTo(file)) {
+				tempFile.delete();
+				return false;
+			}
+		}
+		if (maxSize > 0)
+			written(file.length() - oldLength, maxSize);
+		return true;
+	}
+
+	/*
+	 * Updates the size of the store and deletes the least recently used files if it is too big.
+	 */
+	private synchronized void written(long addedSize, long maxSize) {
+		if (this.size < 0) {
+			this.size = 0;
+			File[] files = this.directory.listFiles();
+			if (files != null)
+				for (File file : files)
+					this.size += file.length();
+		} else {
+			this.size += addedSize;
+		}
+		if (this.size <= maxSize) return;
+		File[] files = this.directory.listFiles();
+		if (files == null) return;
+		// read the time stamps once since they may change while sorting
+		StoredFile[] storedFiles = new StoredFile[files.length];
+		long total = 0;
+		for (int i = 0; i < files.length; i++) {
+			storedFiles[i] = new StoredFile(files[i]);
+			total += storedFiles[i].length;
+		}
+		Arrays.sort(storedFiles);
+		for (int i = 0; i < storedFiles.length && total > maxSize * 3 / 4; i++) {
+			if (storedFiles[i].file.delete())
+				total -= storedFiles[i].length;
+		}
+		this.size = total;
+	}
+
+	private static class StoredFile implements Comparable<StoredFile> {
+		final File file;
+		final long lastModified;
+		final long length;
+
+		StoredFile(File file) {
+			this.file = file;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		@Override
+		public int compareTo(StoredFile other) {
+			return Long.compare(this.lastModified, other.lastModified);
+		}
+	}
+}
@@ -143,7 +143,7 @@ public class JRTUtil {
 	 * @throws IOException
 	 */
 	public static void walkModuleImage(File image, final JRTUtil.JrtFileVisitor<java.nio.file.Path> visitor, int notify) throws IOException {
-		getJrtSystem(image).walkModuleImage(visitor, false, notify);
+		getJrtSystem(image).walkModules(visitor, notify);
 	}
 
 	public static InputStream getContentFromJrt(File jrt, String fileName, String module) throws IOException {
@@ -172,6 +172,14 @@ class JrtFileSystem {
 	private final Map<String, List<String>> packageToModules = new HashMap<String, List<String>>();
 
 	FileSystem jrtSystem = null;
+
+	/*
+	 * The recorded layout of the image, its key, and the pairs of package and module
+	 * found while the layout is being recorded (see JrtImageLayout).
+	 */
+	private JrtImageLayout layout;
+	private String layoutKey;
+	private List<String> packageModules;
 	
 	/**
 	 * The jrt file system is based on the location of the JRE home whose libraries
@@ -206,7 +214,53 @@ class JrtFileSystem {
 			env.put("java.home", jdkHome); //$NON-NLS-1$
 			this.jrtSystem = FileSystems.newFileSystem(JRTUtil.JRT_URI, env);
 		}
-		walkModuleImage(null, true, 0 /* doesn't matter */);
+		if (JrtImageLayout.ENABLED) {
+			this.layoutKey = JrtImageLayout.keyFor(jdkHome);
+			if (this.layoutKey != null)
+				this.layout = JrtImageLayout.read(this.layoutKey);
+		}
+		if (this.layout != null) {
+			List<String> pairs = this.layout.packageModules;
+			for (int i = 0, size = pairs.size(); i + 1 < size; i += 2)
+				cachePackage(pairs.get(i), pairs.get(i + 1));
+		} else {
+			if (this.layoutKey != null)
+				this.packageModules = new ArrayList<>();
+			walkModuleImage(null, true, 0 /* doesn't matter */);
+		}
+	}
+
+	/**
+	 * Walks the modules of the image, or replays the walk from its recorded layout.
+	 */
+	void walkModules(final JRTUtil.JrtFileVisitor<java.nio.file.Path> visitor, final int notify) throws IOException {
+		JrtImageLayout imageLayout = getLayout();
+		if (imageLayout != null) {
+			imageLayout.walk(this, visitor, notify);
+		} else {
+			walkModuleImage(visitor, false, notify);
+		}
+	}
+
+	/*
+	 * Returns the layout of the image, recording it on first use, or null if it cannot be recorded.
+	 */
+	private synchronized JrtImageLayout getLayout() {
+		if (this.layout == null && this.packageModules != null) {
+			JrtImageLayout newLayout = new JrtImageLayout(this.layoutKey);
+			try {
+				walkModuleImage(newLayout.recorder(), false, JRTUtil.NOTIFY_ALL, true);
+			} catch (IOException e) {
+				this.packageModules = null; // walk the image each time
+				return null;
+			}
+			newLayout.trim();
+			newLayout.packageModules = this.packageModules;
+			this.packageModules = null;
+			newLayout.write();
+			this.layout = newLayout;
+		}
+		return this.layout;
 	}
 
 	public List<String> getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
@@ -360,6 +414,10 @@ class JrtFileSystem {
 	}
 
 	void walkModuleImage(final JRTUtil.JrtFileVisitor<java.nio.file.Path> visitor, boolean visitPackageMapping, final int notify) throws IOException {
+		walkModuleImage(visitor, visitPackageMapping, notify, false);
+	}
+
+	private void walkModuleImage(final JRTUtil.JrtFileVisitor<java.nio.file.Path> visitor, boolean visitPackageMapping, final int notify, final boolean allModules) throws IOException {
 		Iterable<java.nio.file.Path> roots = this.jrtSystem.getRootDirectories();
 		for (java.nio.file.Path path : roots) {
 			try (DirectoryStream<java.nio.file.Path> stream = Files.newDirectoryStream(path)) {
@@ -373,7 +431,7 @@ class JrtFileSystem {
 								if (count == 2) {
 									// e.g. /modules/java.base
 									java.nio.file.Path mod = dir.getName(1);
-									if ((JRTUtil.MODULE_TO_LOAD != null && JRTUtil.MODULE_TO_LOAD.length() > 0 &&
+									if (!allModules && (JRTUtil.MODULE_TO_LOAD != null && JRTUtil.MODULE_TO_LOAD.length() > 0 &&
 											JRTUtil.MODULE_TO_LOAD.indexOf(mod.toString()) == -1)) {
 										return FileVisitResult.SKIP_SUBTREE;
 									}
@@ -405,7 +463,13 @@ class JrtFileSystem {
 							public FileVisitResult visitFile(java.nio.file.Path file, BasicFileAttributes attrs) throws IOException {
 								// e.g. /modules/java.base
 								java.nio.file.Path relative = subdir.relativize(file);
-								cachePackage(relative.getParent().toString(), relative.getFileName().toString());
+								String packageName = relative.getParent().toString();
+								String module = relative.getFileName().toString();
+								cachePackage(packageName, module);
+								if (JrtFileSystem.this.packageModules != null) {
+									JrtFileSystem.this.packageModules.add(packageName);
+									JrtFileSystem.this.packageModules.add(module);
+								}
 								return FileVisitResult.CONTINUE;
 							}
 						});
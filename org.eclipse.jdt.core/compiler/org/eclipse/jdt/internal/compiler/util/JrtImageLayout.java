@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The modules, packages and files of a JRT image, recorded once by walking the image so that
+ * the following walks of the same image (see {@link JRTUtil#walkModuleImage(File, JRTUtil.JrtFileVisitor, int)})
+ * are replayed from memory. It also records which modules declare each package.
+ * <p>
+ * A layout is shared by all the clients of an image: the Java model, the builder and the batch compiler.
+ * It is keyed by the JDK home and by the time stamp and size of the image, of <code>jrt-fs.jar</code>
+ * and of the <code>release</code> file. When <code>CacheDirectory</code> is set, layouts are also stored
+ * there and reused across sessions. The Java model sets it to its state location; the batch compiler
+ * only uses it when the system property <code>org.eclipse.jdt.core.jrtImageLayoutCache</code> names a directory.
+ * </p><p>
+ * Replayed walks pass <code>null</code> file attributes to the visitor.
+ * </p>
+ */
+public class JrtImageLayout {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableJrtImageLayout"); //$NON-NLS-1$
+	public static File CacheDirectory = cacheDirectoryFromProperty();
+	private static DigestFileStore Store;
+
+	static final int VERSION = 1;
+	static final String FILE_EXTENSION = ".jrtlayout"; //$NON-NLS-1$
+	static final byte MODULE = 0, PACKAGE = 1, FILE = 2;
+
+	final String key;
+	/*
+	 * The entries of the image in the order they are walked: modules, packages (paths relative to
+	 * the module) and files (paths relative to the module).
+	 */
+	byte[] kinds = new byte[1024];
+	String[] names = new String[1024];
+	int size;
+	/*
+	 * The pairs of package name and module name found in the /packages directory of the image.
+	 */
+	List<String> packageModules = new ArrayList<>();
+
+	JrtImageLayout(String key) {
+		this.key = key;
+	}
+
+	private static File cacheDirectoryFromProperty() {
+		String directory = System.getProperty("org.eclipse.jdt.core.jrtImageLayoutCache"); //$NON-NLS-1$
+		return directory == null ? null : new File(directory);
+	}
+
+	/**
+	 * Returns the key of the layout of the image of the given JDK home,
+	 * or <code>null</code> if the image cannot be found.
+	 */
+	static String keyFor(String jdkHome) {
+		File modules = new File(jdkHome, "lib" + File.separator + "modules"); //$NON-NLS-1$ //$NON-NLS-2$
+		File jrtFs = new File(jdkHome, "lib" + File.separator + JRTUtil.JRT_FS_JAR); //$NON-NLS-1$
+		File release = new File(jdkHome, "release"); //$NON-NLS-1$
+		if (!modules.isFile() || !jrtFs.isFile())
+			return null;
+		return new File(jdkHome).getAbsolutePath() + '|' + stamp(modules) + '|' + stamp(jrtFs) + '|' + stamp(release);
+	}
+
+	private static String stamp(File file) {
+		return Long.toString(file.lastModified()) + '#' + file.length();
+	}
+
+	void add(byte kind, String name) {
+		if (this.size == this.kinds.length) {
+			System.arraycopy(this.kinds, 0, this.kinds = new byte[this.size * 2], 0, this.size);
+			System.arraycopy(this.names, 0, this.names = new String[this.size * 2], 0, this.size);
+		}
+		this.kinds[this.size] = kind;
+		this.names[this.size++] = name;
+	}
+
+	void trim() {
+		if (this.size < this.kinds.length) {
+			System.arraycopy(this.kinds, 0, this.kinds = new byte[this.size], 0, this.size);
+			System.arraycopy(this.names, 0, this.names = new String[this.size], 0, this.size);
+		}
+	}
+
+	/**
+	 * Returns a visitor that records all the entries of a walk in this layout.
+	 */
+	JRTUtil.JrtFileVisitor<Path> recorder() {
+		return new JRTUtil.JrtFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitPackage(Path dir, Path mod, BasicFileAttributes attrs) {
+				add(PACKAGE, dir.toString());
+				return FileVisitResult.CONTINUE;
+			}
+			@Override
+			public FileVisitResult visitFile(Path file, Path mod, BasicFileAttributes attrs) {
+				add(FILE, file.toString());
+				return FileVisitResult.CONTINUE;
+			}
+			@Override
+			public FileVisitResult visitModule(Path mod) {
+				add(MODULE, mod.toString());
+				return FileVisitResult.CONTINUE;
+			}
+		};
+	}
+
+	/**
+	 * Notifies the given visitor of the entries of this layout, the same way
+	 * {@link JrtFileSystem#walkModuleImage(JRTUtil.JrtFileVisitor, boolean, int)} walks the image.
+	 */
+	void walk(JrtFileSystem system, JRTUtil.JrtFileVisitor<Path> visitor, int notify) throws IOException {
+		FileSystem jrtSystem = system.jrtSystem;
+		String module = null;
+		Path modulePath = null;
+		boolean skipModule = false;
+		String skipped = null; // the directory whose remaining entries are skipped
+		for (int i = 0; i < this.size; i++) {
+			String name = this.names[i];
+			FileVisitResult result;
+			switch (this.kinds[i]) {
+				case MODULE :
+					module = name;
+					modulePath = jrtSystem.getPath(name);
+					skipped = null;
+					skipModule = JRTUtil.MODULE_TO_LOAD != null && JRTUtil.MODULE_TO_LOAD.length() > 0
+							&& JRTUtil.MODULE_TO_LOAD.indexOf(name) == -1;
+					if (skipModule || (notify & JRTUtil.NOTIFY_MODULES) == 0)
+						continue;
+					result = visitor.visitModule(modulePath);
+					if (result == FileVisitResult.TERMINATE || result == FileVisitResult.SKIP_SIBLINGS)
+						return;
+					skipModule = result == FileVisitResult.SKIP_SUBTREE;
+					break;
+				case PACKAGE :
+					if (skipModule) continue;
+					if (skipped != null) {
+						if (isInside(name, skipped)) continue;
+						skipped = null;
+					}
+					if ((notify & JRTUtil.NOTIFY_PACKAGES) == 0)
+						continue;
+					result = visitor.visitPackage(jrtSystem.getPath(name), modulePath, null);
+					if (result == FileVisitResult.TERMINATE)
+						return;
+					if (result == FileVisitResult.SKIP_SUBTREE) {
+						skipped = name;
+					} else if (result == FileVisitResult.SKIP_SIBLINGS) {
+						skipped = parent(name);
+						skipModule = skipped == null;
+					}
+					break;
+				case FILE :
+					if (skipModule) continue;
+					if (skipped != null) {
+						if (isInside(name, skipped)) continue;
+						skipped = null;
+					}
+					if ((notify & JRTUtil.NOTIFY_FILES) == 0)
+						continue;
+					String parent = parent(name);
+					if (parent == null)
+						system.cachePackage(JRTUtil.DEFAULT_PACKAGE, module);
+					result = visitor.visitFile(jrtSystem.getPath(name), modulePath, null);
+					if (result == FileVisitResult.TERMINATE)
+						return;
+					if (result == FileVisitResult.SKIP_SIBLINGS) {
+						skipped = parent;
+						skipModule = parent == null;
+					}
+					break;
+			}
+		}
+	}
+
+	private static boolean isInside(String path, String directory) {
+		return path.length() > directory.length() && path.charAt(directory.length()) == '/' && path.startsWith(directory);
+	}
+
+	private static String parent(String path) {
+		int index = path.lastIndexOf('/');
+		return index == -1 ? null : path.substring(0, index);
+	}
+
+	private static synchronized DigestFileStore store() {
+		File directory = CacheDirectory;
+		if (directory == null) return null;
+		if (Store == null || !Store.directory.equals(directory))
+			Store = new DigestFileStore(directory, FILE_EXTENSION);
+		return Store;
+	}
+
+	/**
+	 * Reads the layout of the given key from the cache directory, or returns <code>null</code> if it is not there.
+	 */
+	static JrtImageLayout read(String key) {
+		DigestFileStore store = store();
+		if (store == null) return null;
+		File file = store.fileFor(key);
+		if (file == null || !file.isFile()) return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+			if (in.readInt() != VERSION || !key.equals(in.readUTF()))
+				return null;
+			JrtImageLayout layout = new JrtImageLayout(key);
+			int size = in.readInt();
+			layout.kinds = new byte[size];
+			layout.names = new String[size];
+			in.readFully(layout.kinds);
+			for (int i = 0; i < size; i++) {
+				String name = in.readUTF();
+				layout.names[i] = layout.kinds[i] == MODULE ? name.intern() : name;
+			}
+			layout.size = size;
+			for (int i = 0, length = in.readInt(); i < length; i++)
+				layout.packageModules.add(in.readUTF());
+			return layout;
+		} catch (IOException e) {
+			return null; // being written or corrupted
+		}
+	}
+
+	/**
+	 * Writes this layout to the cache directory if it is set.
+	 */
+	void write() {
+		DigestFileStore store = store();
+		if (store == null) return;
+		try {
+			store.write(this.key, out -> {
+				out.writeInt(VERSION);
+				out.writeUTF(this.key);
+				out.writeInt(this.size);
+				out.write(this.kinds, 0, this.size);
+				for (int i = 0; i < this.size; i++)
+					out.writeUTF(this.names[i]);
+				out.writeInt(this.packageModules.size());
+				for (String name : this.packageModules)
+					out.writeUTF(name);
+			}, 0);
+		} catch (IOException e) {
+			// the layout is only kept in memory
+		}
+	}
+}
@@ -56,6 +56,27 @@ public class Annotation extends SourceRefElement implements IAnnotation {
 		return super.equals(o);
 	}
 
+	@Override
+	protected void closing(Object info) throws JavaModelException {
+		super.closing(info);
+		if (!(info instanceof AnnotationInfo)) return;
+		IMemberValuePair[] members = ((AnnotationInfo) info).members;
+		for (int i = 0, length = members == null ? 0 : members.length; i < length; i++) {
+			// annotations used as values are cached with this annotation
+			if (members[i].getValueKind() != IMemberValuePair.K_ANNOTATION) continue;
+			Object value = members[i].getValue();
+			if (value instanceof Annotation) {
+				((Annotation) value).close();
+			} else if (value instanceof Object[]) {
+				Object[] values = (Object[]) value;
+				for (int j = 0; j < values.length; j++) {
+					if (values[j] instanceof Annotation)
+						((Annotation) values[j]).close();
+				}
+			}
+		}
+	}
+
 	public IMember getDeclaringMember() {
 		return (IMember) getParent();
 	}
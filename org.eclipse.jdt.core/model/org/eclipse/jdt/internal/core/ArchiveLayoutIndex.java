@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.eclipse.core.runtime.Plugin;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.util.DigestFileStore;
+import org.eclipse.jdt.internal.core.util.HashtableOfArrayToObject;
+import org.eclipse.jdt.internal.core.util.LRUCache;
+
+/**
+ * Remembers the package layout of the archives opened as {@link JarPackageFragmentRoot}s, that is
+ * the packages with their class file names and non-Java resource names (see
+ * <code>JarPackageFragmentRootInfo#rawPackageInfo</code>), so that the archive is not read again each
+ * time a root is opened after it was removed from the Java model cache.
+ * <p>
+ * Layouts are keyed by the path, time stamp and size of the archive, and by the kind of root. They are
+ * shared by all the roots of the same archive, in all projects, and must not be modified. The most
+ * recently used layouts are kept in memory, and all are stored under the state location across sessions.
+ * The total size of the files is bounded by <code>MaxDiskSize</code>: the least recently used files
+ * are deleted when it is exceeded.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ArchiveLayoutIndex {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableArchiveLayoutIndex"); //$NON-NLS-1$
+	public static int MaxMemoryEntries = 200;
+	public static long MaxDiskSize = 32 * 1024 * 1024;
+
+	static final int VERSION = 1;
+	static final String FILE_EXTENSION = ".layout"; //$NON-NLS-1$
+
+	private static final LRUCache<String, HashtableOfArrayToObject> Layouts = new LRUCache<>(MaxMemoryEntries);
+	private static DigestFileStore Store;
+	private static int HitCount;
+
+	/**
+	 * Returns the key of the layout of the given root, or <code>null</code> if it cannot be indexed.
+	 */
+	static String keyFor(JarPackageFragmentRoot root) {
+		if (!ENABLED) return null;
+		String stamp = SourceAttachmentIndex.archiveStamp(root.getPath());
+		if (stamp == null) return null;
+		return root.getPath().toPortableString() + '@' + stamp + '|' + root.getClass().getName();
+	}
+
+	/**
+	 * Returns the layout of the archive of the given key, or <code>null</code> if it is not known.
+	 */
+	static HashtableOfArrayToObject get(String key) {
+		HashtableOfArrayToObject layout;
+		synchronized (ArchiveLayoutIndex.class) {
+			layout = Layouts.get(key);
+		}
+		if (layout == null) {
+			layout = read(key);
+			if (layout == null) return null;
+			synchronized (ArchiveLayoutIndex.class) {
+				Layouts.put(key, layout);
+			}
+		}
+		synchronized (ArchiveLayoutIndex.class) {
+			HitCount++;
+		}
+		return layout;
+	}
+
+	/**
+	 * Remembers the layout of the archive of the given key. The layout must not be modified afterwards.
+	 */
+	static void put(String key, HashtableOfArrayToObject layout) {
+		synchronized (ArchiveLayoutIndex.class) {
+			Layouts.put(key, layout);
+		}
+		write(key, layout);
+	}
+
+	/**
+	 * Forgets the layouts kept in memory. The layouts on disk are kept.
+	 */
+	public static synchronized void flush() {
+		Layouts.flush();
+	}
+
+	/**
+	 * Returns the number of layouts answered from this index.
+	 */
+	public static synchronized int getHitCount() {
+		return HitCount;
+	}
+
+	private static synchronized DigestFileStore store() {
+		if (Store == null) {
+			Plugin plugin = JavaCore.getPlugin();
+			if (plugin == null) return null;
+			Store = new DigestFileStore(plugin.getStateLocation().append("archiveLayouts").toFile(), FILE_EXTENSION); //$NON-NLS-1$
+		}
+		return Store;
+	}
+
+	private static HashtableOfArrayToObject read(String key) {
+		DigestFileStore store = store();
+		if (store == null) return null;
+		File file = store.fileFor(key);
+		if (file == null || !file.isFile()) return null;
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 32 * 1024))) {
+			if (in.readInt() != VERSION || !key.equals(in.readUTF()))
+				return null;
+			int size = in.readInt();
+			HashtableOfArrayToObject layout = new HashtableOfArrayToObject(size);
+			for (int i = 0; i < size; i++) {
+				String[] pkgName = new String[in.readInt()];
+				for (int j = 0; j < pkgName.length; j++)
+					pkgName[j] = manager.intern(in.readUTF());
+				layout.put(pkgName, new ArrayList[] { readNames(in), readNames(in) });
+			}
+			store.used(file);
+			return layout;
+		} catch (IOException e) {
+			return null; // being written or corrupted
+		}
+	}
+
+	private static ArrayList<String> readNames(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		if (size == 0)
+			return JarPackageFragmentRoot.EMPTY_LIST;
+		ArrayList<String> names = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			names.add(in.readUTF());
+		return names;
+	}
+
+	private static void write(final String key, final HashtableOfArrayToObject layout) {
+		DigestFileStore store = store();
+		if (store == null) return;
+		try {
+			store.write(key, out -> {
+				out.writeInt(VERSION);
+				out.writeUTF(key);
+				out.writeInt(layout.size());
+				for (int i = 0, length = layout.keyTable.length; i < length; i++) {
+					String[] pkgName = (String[]) layout.keyTable[i];
+					if (pkgName == null) continue;
+					out.writeInt(pkgName.length);
+					for (String segment : pkgName)
+						out.writeUTF(segment);
+					ArrayList[] entries = (ArrayList[]) layout.valueTable[i];
+					writeNames(out, entries[0/*JAVA*/]);
+					writeNames(out, entries[1/*NON_JAVA*/]);
+				}
+			}, MaxDiskSize);
+		} catch (IOException e) {
+			// a name that is too long for writeUTF(), or the disk is full: the layout is only kept in memory
+		}
+	}
+
+	private static void writeNames(DataOutputStream out, ArrayList names) throws IOException {
+		int size = names.size();
+		out.writeInt(size);
+		for (int i = 0; i < size; i++)
+			out.writeUTF((String) names.get(i));
+	}
+}
@@ -13,6 +13,8 @@ package org.eclipse.jdt.internal.core;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 
 import org.eclipse.core.resources.IFile;
@@ -39,6 +41,16 @@ public class Buffer implements IBuffer {
 	protected IOpenable owner;
 	protected int gapStart = -1;
 	protected int gapEnd = -1;
+	/*
+	 * The contents of a buffer that was not modified and whose characters are all ISO-8859-1,
+	 * one byte per character. It replaces contents until the buffer is modified.
+	 */
+	protected byte[] latin1Contents;
+	/*
+	 * The characters of latin1Contents answered by getCharacters(), so that they are only inflated once.
+	 * They are softly referenced since they can be inflated again if memory runs low.
+	 */
+	protected SoftReference<char[]> latin1Chars;
 
 	protected Object lock = new Object();
 
@@ -46,6 +58,8 @@ public class Buffer implements IBuffer {
 	protected static final int F_IS_READ_ONLY = 2;
 	protected static final int F_IS_CLOSED = 4;
 
+	public static boolean COMPACT_LATIN1 = !Boolean.getBoolean("org.eclipse.jdt.core.disableCompactBuffers"); //$NON-NLS-1$
+
 /**
  * Creates a new buffer on an underlying resource.
  */
@@ -78,7 +92,7 @@ public void append(char[] text) {
 		}
 		int length = getLength();
 		synchronized(this.lock) {
-			if (this.contents == null) return;
+			if (!inflate()) return;
 			moveAndResizeGap(length, text.length);
 			System.arraycopy(text, 0, this.contents, length, text.length);
 			this.gapStart += text.length;
@@ -109,6 +123,8 @@ public void close() {
 			return;
 		event = new BufferChangedEvent(this, 0, 0, null);
 		this.contents = null;
+		this.latin1Contents = null;
+		this.latin1Chars = null;
 		this.flags |= F_IS_CLOSED;
 	}
 	notifyChanged(event); // notify outside of synchronized block
@@ -122,6 +138,7 @@ public void close() {
 @Override
 public char getChar(int position) {
 	synchronized (this.lock) {
+		if (this.latin1Contents != null) return (char) (this.latin1Contents[position] & 0xFF);
 	    if (this.contents == null) return Character.MIN_VALUE;
 		if (position < this.gapStart) {
 			return this.contents[position];
@@ -136,6 +153,7 @@ public char getChar(int position) {
 @Override
 public char[] getCharacters() {
 	synchronized (this.lock) {
+		if (this.latin1Contents != null) return latin1Chars();
 		if (this.contents == null) return null;
 		if (this.gapStart < 0) {
 			return this.contents;
@@ -162,6 +180,7 @@ public String getContents() {
 @Override
 public int getLength() {
 	synchronized (this.lock) {
+		if (this.latin1Contents != null) return this.latin1Contents.length;
 		if (this.contents == null) return -1;
 		int length = this.gapEnd - this.gapStart;
 		return (this.contents.length - length);
@@ -180,6 +199,7 @@ public IOpenable getOwner() {
 @Override
 public String getText(int offset, int length) {
 	synchronized (this.lock) {
+		if (this.latin1Contents != null) return new String(this.latin1Contents, offset, length, StandardCharsets.ISO_8859_1);
 		if (this.contents == null) return ""; //$NON-NLS-1$
 		if (offset + length < this.gapStart)
 			return new String(this.contents, offset, length);
@@ -221,6 +241,49 @@ public boolean isClosed() {
 public boolean isReadOnly() {
 	return (this.flags & F_IS_READ_ONLY) != 0;
 }
+/**
+ * Returns the number of bytes used to store the contents of this buffer,
+ * not counting the characters of compact contents which can be reclaimed.
+ */
+public int getContentsSize() {
+	synchronized (this.lock) {
+		if (this.latin1Contents != null) return this.latin1Contents.length;
+		if (this.contents == null) return 0;
+		return this.contents.length * 2;
+	}
+}
+/*
+ * Replaces the compact contents with characters before the buffer is modified.
+ * Answers whether the buffer has contents. Must be called while holding the lock.
+ */
+private boolean inflate() {
+	if (this.latin1Contents != null) {
+		this.contents = latin1Chars();
+		this.latin1Contents = null;
+		this.latin1Chars = null;
+	}
+	return this.contents != null;
+}
+/*
+ * Returns the characters of the compact contents, inflating them unless they are still softly referenced.
+ * Must be called while holding the lock.
+ */
+private char[] latin1Chars() {
+	char[] chars = this.latin1Chars == null ? null : this.latin1Chars.get();
+	if (chars == null) {
+		chars = toChars(this.latin1Contents);
+		this.latin1Chars = new SoftReference<>(chars);
+	}
+	return chars;
+}
+/**
+ * Returns whether the contents of this buffer are stored one byte per character.
+ */
+public boolean isCompact() {
+	synchronized (this.lock) {
+		return this.latin1Contents != null;
+	}
+}
 /**
  * Moves the gap to location and adjust its size to the
  * anticipated change size. The size represents the expected
@@ -308,7 +371,7 @@ public void replace(int position, int length, char[] text) {
 	if (!isReadOnly()) {
 		int textLength = text == null ? 0 : text.length;
 		synchronized (this.lock) {
-			if (this.contents == null) return;
+			if (!inflate()) return;
 
 			// move gap
 			moveAndResizeGap(position + length, textLength - length);
@@ -423,9 +486,11 @@ public void save(IProgressMonitor progress, boolean force) throws JavaModelExcep
 public void setContents(char[] newContents) {
 	// allow special case for first initialization
 	// after creation by buffer factory
-	if (this.contents == null) {
+	if (this.contents == null && this.latin1Contents == null) {
 		synchronized (this.lock) {
-			this.contents = newContents;
+			this.latin1Contents = COMPACT_LATIN1 ? toLatin1(newContents) : null;
+			this.contents = this.latin1Contents == null ? newContents : null;
+			this.latin1Chars = this.latin1Contents == null ? null : new SoftReference<>(newContents);
 			this.flags &= ~ (F_HAS_UNSAVED_CHANGES);
 		}
 		return;
@@ -437,8 +502,10 @@ public void setContents(char[] newContents) {
 			string = new String(newContents);
 		}
 		synchronized (this.lock) {
-			if (this.contents == null) return; // ignore if buffer is closed (as per spec)
+			if (this.contents == null && this.latin1Contents == null) return; // ignore if buffer is closed (as per spec)
 			this.contents = newContents;
+			this.latin1Contents = null;
+			this.latin1Chars = null;
 			this.flags |= F_HAS_UNSAVED_CHANGES;
 			this.gapStart = -1;
 			this.gapEnd = -1;
@@ -464,6 +531,27 @@ protected void setReadOnly(boolean readOnly) {
 		this.flags &= ~(F_IS_READ_ONLY);
 	}
 }
+private static char[] toChars(byte[] bytes) {
+	int length = bytes.length;
+	char[] chars = new char[length];
+	for (int i = 0; i < length; i++)
+		chars[i] = (char) (bytes[i] & 0xFF);
+	return chars;
+}
+/*
+ * Returns the given characters one byte each, or null if one of them is not in ISO-8859-1.
+ */
+private static byte[] toLatin1(char[] chars) {
+	if (chars == null) return null;
+	int length = chars.length;
+	byte[] bytes = new byte[length];
+	for (int i = 0; i < length; i++) {
+		char c = chars[i];
+		if (c > 0xFF) return null;
+		bytes[i] = (byte) c;
+	}
+	return bytes;
+}
 @Override
 public String toString() {
 	StringBuffer buffer = new StringBuffer();
@@ -484,7 +572,7 @@ public String toString() {
 					buffer.append("\\n\n"); //$NON-NLS-1$
 					break;
 				case '\r':
-					if (i < length-1 && this.contents[i+1] == '\n') {
+					if (i < length-1 && charContents[i+1] == '\n') {
 						buffer.append("\\r\\n\n"); //$NON-NLS-1$
 						i++;
 					} else {
@@ -55,6 +55,17 @@ public class BufferCache<K> extends OverflowingLRUCache<K, IBuffer> {
 		}
 	}
 
+	/**
+	 * Returns the number of bytes used by the contents of the given buffer.
+	 */
+	@Override
+	protected int weightFor(IBuffer buffer) {
+		if (buffer instanceof Buffer)
+			return ((Buffer) buffer).getContentsSize();
+		int length = buffer.getLength();
+		return length > 0 ? length * 2 : 0;
+	}
+
 	void closeBuffers() {
 		List<IBuffer> buffers = this.buffersToClose.get();
 		if (buffers == null)
@@ -65,6 +76,34 @@ public class BufferCache<K> extends OverflowingLRUCache<K, IBuffer> {
 		}
 	}
 
+	/**
+	 * Updates the weight of the buffer of the given key, whose contents may have been set or modified
+	 * since it was last weighed.
+	 */
+	void updateWeight(K key) {
+		if (this.weightLimit <= 0) return;
+		LRUCacheEntry<K, IBuffer> entry = this.entryTable.get(key);
+		if (entry == null) return;
+		int weight = weightFor(entry.value);
+		if (weight == entry.weight) return;
+		this.currentWeight += weight - entry.weight;
+		entry.weight = weight;
+		makeWeight();
+	}
+
+	/**
+	 * Updates the weight of the buffers whose contents were set or modified since they were added.
+	 */
+	void updateWeights() {
+		if (this.weightLimit <= 0) return;
+		for (LRUCacheEntry<K, IBuffer> entry = this.entryQueue; entry != null; entry = entry.next) {
+			int weight = weightFor(entry.value);
+			this.currentWeight += weight - entry.weight;
+			entry.weight = weight;
+		}
+		makeWeight();
+	}
+
 	@Override
 	protected LRUCache<K, IBuffer> newInstance(int size, int newOverflow) {
 		return new BufferCache<>(size, newOverflow);
@@ -17,6 +17,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The buffer manager manages the set of open buffers.
@@ -27,11 +28,18 @@ public class BufferManager {
 	protected static BufferManager DEFAULT_BUFFER_MANAGER;
 	protected static boolean VERBOSE;
 
+	public static final int DEFAULT_SIZE = 60;
+	/*
+	 * Budget in megabytes of the open buffers. When set, the buffer cache is limited by the size
+	 * of the contents of its buffers (see Buffer#getContentsSize()) instead of by their number.
+	 */
+	public static final String BUDGET_PROPERTY = "org.eclipse.jdt.core.buffercache.budget"; //$NON-NLS-1$
+
 	/**
 	 * LRU cache of buffers. The key and value for an entry
 	 * in the table is the identical buffer.
 	 */
-	private BufferCache<IOpenable> openBuffers = new BufferCache<>(60);
+	private BufferCache<IOpenable> openBuffers = newBufferCache(getBudget());
 
 	/**
 	 * @deprecated
@@ -81,15 +89,48 @@ public static IBuffer createNullBuffer(IOpenable owner) {
 			owner,
 			element.isReadOnly());
 }
+/*
+ * Returns the budget of the open buffers in bytes, or 0 if it is not set.
+ */
+private static long getBudget() {
+	String property = System.getProperty(BUDGET_PROPERTY);
+	if (property != null) {
+		try {
+			return Math.max(0, Long.parseLong(property.trim())) * 0x100000;
+		} catch (NumberFormatException e) {
+			Util.log(e, "Could not parse value for " + BUDGET_PROPERTY + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return 0;
+}
+/*
+ * Returns a buffer cache limited by the given budget in bytes, or by DEFAULT_SIZE buffers if it is 0.
+ * With a budget, the number of buffers only bounds the cache if they are smaller than 1KB on average.
+ */
+static BufferCache<IOpenable> newBufferCache(long budget) {
+	if (budget <= 0)
+		return new BufferCache<>(DEFAULT_SIZE);
+	BufferCache<IOpenable> cache = new BufferCache<>((int) Math.min(Integer.MAX_VALUE / 2, Math.max(DEFAULT_SIZE, budget / 1024)));
+	cache.setWeightLimit(budget);
+	return cache;
+}
 /**
  * Returns the open buffer associated with the given owner,
  * or <code>null</code> if the owner does not have an open
  * buffer associated with it.
  */
 public IBuffer getBuffer(IOpenable owner) {
+	IBuffer buffer;
 	synchronized (this.openBuffers) {
-		return this.openBuffers.get(owner);
+		buffer = this.openBuffers.get(owner);
+		// the buffer is weighed again each time it is used rather than walking the whole cache
+		if (buffer != null)
+			this.openBuffers.updateWeight(owner);
 	}
+	// close buffers that were removed from the cache if the buffer grew
+	if (buffer != null)
+		this.openBuffers.closeBuffers();
+	return buffer;
 }
 /**
  * Returns the default buffer manager.
@@ -118,6 +159,7 @@ public org.eclipse.jdt.core.IBufferFactory getDefaultBufferFactory() {
 public Enumeration<IBuffer> getOpenBuffers() {
 	Enumeration<IBuffer> result;
 	synchronized (this.openBuffers) {
+		this.openBuffers.updateWeights();
 		this.openBuffers.shrink();
 		result = this.openBuffers.elements();
 	}
@@ -143,4 +185,38 @@ protected void removeBuffer(IBuffer buffer) {
 		System.out.println("-> Buffer cache filling ratio = " + NumberFormat.getInstance().format(this.openBuffers.fillingRatio()) + "%"); //$NON-NLS-1$//$NON-NLS-2$
 	}
 }
+/**
+ * Clears the hit, miss and eviction counters of the buffer cache.
+ */
+public void resetStatistics() {
+	synchronized (this.openBuffers) {
+		this.openBuffers.resetStatistics();
+	}
+}
+/**
+ * Returns the size and the hit, miss and eviction counters of the buffer cache,
+ * and how many of its buffers store their contents one byte per character.
+ */
+public String toStringStatistics() {
+	synchronized (this.openBuffers) {
+		this.openBuffers.updateWeights();
+		int compact = 0;
+		long size = 0;
+		for (Enumeration<IBuffer> buffers = this.openBuffers.elements(); buffers.hasMoreElements();) {
+			IBuffer buffer = buffers.nextElement();
+			if (buffer instanceof Buffer) {
+				if (((Buffer) buffer).isCompact())
+					compact++;
+				size += ((Buffer) buffer).getContentsSize();
+			}
+		}
+		StringBuffer buffer = new StringBuffer(this.openBuffers.toStringStatistics("Buffer cache")); //$NON-NLS-1$
+		buffer.append(", "); //$NON-NLS-1$
+		buffer.append(compact);
+		buffer.append(" compact buffers, "); //$NON-NLS-1$
+		buffer.append(size / 1024);
+		buffer.append("KB of contents"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
 }
@@ -12,6 +12,7 @@ package org.eclipse.jdt.internal.core;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.internal.codeassist.ISearchRequestor;
@@ -21,6 +22,7 @@ import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 
 public class CancelableNameEnvironment extends SearchableEnvironment implements INameEnvironmentWithProgress {
 	private IProgressMonitor monitor;
+	private ReconcileAnswers reconcileAnswers;
 
 	public CancelableNameEnvironment(JavaProject project, WorkingCopyOwner owner, IProgressMonitor monitor) throws JavaModelException {
 		this(project, owner, monitor, false);
@@ -30,6 +32,43 @@ public class CancelableNameEnvironment extends SearchableEnvironment implements
 		setMonitor(monitor);
 	}
 
+	/**
+	 * Reuses the types found by the previous reconciles of a working copy, and remembers the ones found
+	 * by this environment for the next reconciles.
+	 */
+	public void setReconcileAnswers(ReconcileAnswers answers) {
+		if (answers != null) {
+			if (this.owner != null && !WorkingCopyOwner.class.equals(getFindSourceDeclaringClass(this.owner)))
+				return; // the owner may provide other sources at any time
+			answers.validate(JavaModelManager.getJavaModelManager().getModelStamp(), this.project, this.owner, this.excludeTestCode, this.checkAccessRestrictions);
+		}
+		this.reconcileAnswers = answers;
+	}
+
+	private static Class getFindSourceDeclaringClass(WorkingCopyOwner owner) {
+		try {
+			return owner.getClass().getMethod("findSource", String.class, String.class).getDeclaringClass(); //$NON-NLS-1$
+		} catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+	}
+
+	@Override
+	protected NameEnvironmentAnswer find(String typeName, String packageName, IPackageFragmentRoot[] moduleContext) {
+		ReconcileAnswers answers = this.reconcileAnswers;
+		if (answers == null || moduleContext != null)
+			return super.find(typeName, packageName, moduleContext);
+		String qualifiedTypeName = packageName == null || packageName.length() == 0 ? typeName : packageName + '.' + typeName;
+		if (answers.isMissing(qualifiedTypeName))
+			return null;
+		NameEnvironmentAnswer answer = answers.get(qualifiedTypeName);
+		if (answer == null) {
+			answer = super.find(typeName, packageName, moduleContext);
+			answers.put(qualifiedTypeName, answer);
+		}
+		return answer;
+	}
+
 	private void checkCanceled() {
 		if (this.monitor != null && this.monitor.isCanceled()) {
 			if (NameLookup.VERBOSE)
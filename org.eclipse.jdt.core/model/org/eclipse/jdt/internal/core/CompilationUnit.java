@@ -165,6 +165,19 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 	if (underlyingResource != null)
 		unitInfo.timestamp = ((IFile)underlyingResource).getModificationStamp();
 
+	// rebuild the previous structure if the contents changed only inside the body of a method or initializer
+	boolean recordStructure = perWorkingCopyInfo != null && IncrementalStructure.ENABLED && !computeProblems && !createAST && !compilerOptions.ignoreMethodBodies;
+	if (recordStructure) {
+		IncrementalStructure structure = perWorkingCopyInfo.getStructure();
+		if (structure != null) {
+			structure = structure.rebuild(getContents(), unitInfo, newElements, options, compilerOptions);
+			if (structure != null) {
+				perWorkingCopyInfo.setStructure(structure);
+				return unitInfo.isStructureKnown();
+			}
+		}
+	}
+
 	// compute other problems if needed
 	CompilationUnitDeclaration compilationUnitDeclaration = null;
 	CompilationUnit source = cloneCachingContents();
@@ -206,6 +219,9 @@ protected boolean buildStructure(OpenableElementInfo info, final IProgressMonito
 	    }
 	}
 
+	if (perWorkingCopyInfo != null)
+		perWorkingCopyInfo.setStructure(recordStructure ? IncrementalStructure.record(this, source.getContents(), unitInfo, newElements, compilerOptions) : null);
+
 	return unitInfo.isStructureKnown();
 }
 /*
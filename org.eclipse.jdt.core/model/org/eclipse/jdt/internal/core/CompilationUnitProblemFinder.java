@@ -248,6 +248,11 @@ public class CompilationUnitProblemFinder extends Compiler {
 		CompilationUnitDeclaration unit = null;
 		try {
 			environment = new CancelableNameEnvironment(project, workingCopyOwner, monitor, !isTestSource(unitElement.getJavaProject(), unitElement));
+			if (ReconcileAnswers.ENABLED) {
+				JavaModelManager.PerWorkingCopyInfo perWorkingCopyInfo = unitElement.getPerWorkingCopyInfo();
+				if (perWorkingCopyInfo != null)
+					environment.setReconcileAnswers(perWorkingCopyInfo.getReconcileAnswers());
+			}
 			problemFactory = new CancelableProblemFactory(monitor);
 			CompilerOptions compilerOptions = getCompilerOptions(project.getOptions(true), creatingAST, ((reconcileFlags & ICompilationUnit.ENABLE_STATEMENTS_RECOVERY) != 0));
 			boolean ignoreMethodBodies = (reconcileFlags & ICompilationUnit.IGNORE_METHOD_BODIES) != 0;
@@ -283,7 +283,7 @@ protected static String[] convertTypeNamesToSigs(char[][] typeNames) {
 	return typeSigs;
 }
 protected IAnnotation acceptAnnotation(org.eclipse.jdt.internal.compiler.ast.Annotation annotation, AnnotatableInfo parentInfo, JavaElement parentHandle) {
-	String nameString = new String(CharOperation.concatWith(annotation.type.getTypeName(), '.'));
+	String nameString = JavaModelManager.getJavaModelManager().intern(new String(CharOperation.concatWith(annotation.type.getTypeName(), '.')));
 	Annotation handle = createAnnotation(parentHandle, nameString); //NB: occurenceCount is computed in resolveDuplicates
 	resolveDuplicates(handle);
 
@@ -430,13 +430,13 @@ private SourceMethodElementInfo createMethodInfo(MethodInfo methodInfo, SourceMe
 	info.setNameSourceEnd(methodInfo.nameSourceEnd);
 	info.setFlags(flags);
 	JavaModelManager manager = JavaModelManager.getJavaModelManager();
-	char[][] parameterNames = methodInfo.parameterNames;
+	char[][] parameterNames = methodInfo.parameterNames.length == 0 ? CharOperation.NO_CHAR_CHAR : methodInfo.parameterNames;
 	for (int i = 0, length = parameterNames.length; i < length; i++)
 		parameterNames[i] = manager.intern(parameterNames[i]);
 	info.setArgumentNames(parameterNames);
 	char[] returnType = methodInfo.returnType == null ? new char[]{'v', 'o','i', 'd'} : methodInfo.returnType;
 	info.setReturnType(manager.intern(returnType));
-	char[][] exceptionTypes = methodInfo.exceptionTypes;
+	char[][] exceptionTypes = methodInfo.exceptionTypes.length == 0 ? CharOperation.NO_CHAR_CHAR : methodInfo.exceptionTypes;
 	info.setExceptionTypeNames(exceptionTypes);
 	for (int i = 0, length = exceptionTypes.length; i < length; i++)
 		exceptionTypes[i] = manager.intern(exceptionTypes[i]);
@@ -478,10 +478,11 @@ private LocalVariable[] acceptMethodParameters(Argument[] arguments, JavaElement
 		localVarInfo.setNameSourceStart(argument.sourceStart);
 		localVarInfo.setNameSourceEnd(argument.sourceEnd);
 		
-		String paramTypeSig = JavaModelManager.getJavaModelManager().intern(Signature.createTypeSignature(methodInfo.parameterTypes[i], false));
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		String paramTypeSig = manager.intern(Signature.createTypeSignature(methodInfo.parameterTypes[i], false));
 		result[i] = new LocalVariable(
 				methodHandle,
-				new String(argument.name),
+				manager.intern(new String(argument.name)),
 				argument.declarationSourceStart,
 				argument.declarationSourceEnd,
 				argument.sourceStart,
@@ -573,6 +574,8 @@ private SourceTypeElementInfo createTypeInfo(TypeInfo typeInfo, SourceType handl
 	char[] superclass = typeInfo.superclass;
 	info.setSuperclassName(superclass == null ? null : manager.intern(superclass));
 	char[][] superinterfaces = typeInfo.superinterfaces;
+	if (superinterfaces != null && superinterfaces.length == 0)
+		superinterfaces = CharOperation.NO_CHAR_CHAR;
 	for (int i = 0, length = superinterfaces == null ? 0 : superinterfaces.length; i < length; i++)
 		superinterfaces[i] = manager.intern(superinterfaces[i]);
 	info.setSuperInterfaceNames(superinterfaces);
@@ -608,7 +611,8 @@ private SourceTypeElementInfo createTypeInfo(TypeInfo typeInfo, SourceType handl
 }
 protected void acceptTypeParameter(TypeParameterInfo typeParameterInfo, JavaElementInfo parentInfo) {
 	JavaElement parentHandle = (JavaElement) this.handleStack.peek();
-	String nameString = new String(typeParameterInfo.name);
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	String nameString = manager.intern(new String(typeParameterInfo.name));
 	TypeParameter handle = createTypeParameter(parentHandle, nameString); //NB: occurenceCount is computed in resolveDuplicates
 	resolveDuplicates(handle);
 
@@ -616,7 +620,10 @@ protected void acceptTypeParameter(TypeParameterInfo typeParameterInfo, JavaElem
 	info.setSourceRangeStart(typeParameterInfo.declarationStart);
 	info.nameStart = typeParameterInfo.nameSourceStart;
 	info.nameEnd = typeParameterInfo.nameSourceEnd;
-	info.bounds = typeParameterInfo.bounds;
+	char[][] bounds = typeParameterInfo.bounds;
+	for (int i = 0, length = bounds == null ? 0 : bounds.length; i < length; i++)
+		bounds[i] = manager.intern(bounds[i]);
+	info.bounds = bounds;
 	if (parentInfo instanceof SourceTypeElementInfo) {
 		SourceTypeElementInfo elementInfo = (SourceTypeElementInfo) parentInfo;
 		ITypeParameter[] typeParameters = elementInfo.typeParameters;
@@ -701,7 +708,7 @@ public void exitField(int initializationStart, int declarationEnd, int declarati
 			if (length > 0) {
 				char[] initializer = new char[length];
 				System.arraycopy(this.parser.scanner.source, initializationStart, initializer, 0, length);
-				info.initializationSource = initializer;
+				info.initializationSource = JavaModelManager.getJavaModelManager().intern(initializer); // constants are often the same
 			}
 		}
 	}
@@ -22,6 +22,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.internal.core.hierarchy.RegionBasedTypeHierarchy;
 import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
+import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchyCache;
 
 /**
  * This operation creates an <code>ITypeHierarchy</code> for a specific type within
@@ -88,7 +89,16 @@ public CreateTypeHierarchyOperation(IType element, ICompilationUnit[] workingCop
  */
 @Override
 protected void executeOperation() throws JavaModelException {
+	String key = TypeHierarchyCache.keyFor(this.typeHierarchy);
+	if (key == null) {
+		this.typeHierarchy.refresh(this);
+		return;
+	}
+	if (TypeHierarchyCache.initialize(key, this.typeHierarchy))
+		return;
+	int generation = TypeHierarchyCache.getGeneration();
 	this.typeHierarchy.refresh(this);
+	TypeHierarchyCache.put(key, this.typeHierarchy, generation);
 }
 /**
  * Returns the generated type hierarchy.
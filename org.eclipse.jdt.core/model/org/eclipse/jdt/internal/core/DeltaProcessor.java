@@ -36,6 +36,7 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerProjectInfo;
+import org.eclipse.jdt.internal.core.builder.DirectoryListingCache;
 import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
 import org.eclipse.jdt.internal.core.search.AbstractSearchScope;
@@ -1489,6 +1490,8 @@ public class DeltaProcessor {
 	 * If the firing mode has been turned off, this has no effect.
 	 */
 	public void fire(IJavaElementDelta customDelta, int eventType) {
+		if (customDelta != null)
+			this.manager.modelChanged();
 		if (!this.isFiring) return;
 
 		if (DEBUG) {
@@ -2010,6 +2013,7 @@ public class DeltaProcessor {
 	 * Registers the given delta with this delta processor.
 	 */
 	public void registerJavaModelDelta(IJavaElementDelta delta) {
+		this.manager.modelChanged();
 		this.javaModelDeltas.add(delta);
 	}
 	/*
@@ -2084,6 +2088,7 @@ public class DeltaProcessor {
 				return;
 
 			case IResourceChangeEvent.POST_CHANGE :
+				DirectoryListingCache.update(delta); // includes the changes made by the builders
 				HashSet elementsToRefresh = this.state.removeExternalElementsToRefresh();
 				if (isAffectedBy(delta) // avoid populating for SYNC or MARKER deltas
 						|| elementsToRefresh != null) {
@@ -2155,7 +2160,10 @@ public class DeltaProcessor {
 				// (note this is no-op if already initialized)
 				// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=241751
 				this.state.initializeRoots(false/*not initiAfterLoad*/);
-				
+
+				// keep the builder's listings of binary folders up to date with the changes made since the last notification
+				DirectoryListingCache.update(delta);
+
 				boolean isAffected = isAffectedBy(delta);
 				boolean needCycleValidation = isAffected && validateClasspaths(delta);
 
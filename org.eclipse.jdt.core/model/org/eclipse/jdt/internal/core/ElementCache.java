@@ -19,6 +19,12 @@ import org.eclipse.jdt.core.JavaModelException;
  */
 public class ElementCache<K extends IJavaElement & IOpenable> extends OverflowingLRUCache<K, JavaElementInfo> {
 
+	/**
+	 * Estimated weight in bytes of an info and of each of its children, see {@link #weightFor(JavaElementInfo)}.
+	 */
+	public static final int INFO_WEIGHT = 1000;
+	public static final int CHILD_WEIGHT = 300;
+
 	IJavaElement spaceLimitParent = null;
 
 /**
@@ -74,6 +80,18 @@ protected void ensureSpaceLimit(JavaElementInfo info, IJavaElement parent) {
 	}
 }
 
+/*
+ * Estimates the memory retained by the given info. The infos of the descendants of a
+ * compilation unit are released with it, so their weight is estimated from its source length.
+ */
+@Override
+protected int weightFor(JavaElementInfo info) {
+	int weight = INFO_WEIGHT + info.getChildren().length * CHILD_WEIGHT;
+	if (info instanceof CompilationUnitElementInfo)
+		weight += ((CompilationUnitElementInfo) info).getSourceLength();
+	return weight;
+}
+
 /*
  * Returns a new instance of the receiver.
  */
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.ASTVisitor;
+import org.eclipse.jdt.internal.compiler.ast.ConstructorDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
+import org.eclipse.jdt.internal.compiler.lookup.ClassScope;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.eclipse.jdt.internal.core.util.CodeSnippetParsingUtil;
+
+/**
+ * The structure of a working copy as it was last built, used to build its next structure without
+ * parsing the whole compilation unit when an edit is confined to the body of one method or initializer.
+ * <p>
+ * Only the edited body is parsed again, to check that it has no syntax error and declares no element
+ * (local or anonymous type, lambda expression). The element infos of the rest of the unit are copied
+ * and the source positions following the edit are shifted.
+ * </p>
+ */
+public class IncrementalStructure {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableIncrementalStructure"); //$NON-NLS-1$
+
+	private final char[] contents;
+	private final CompilationUnitElementInfo unitInfo;
+	private final HashMap<IJavaElement, JavaElementInfo> infos; // the infos of the elements of the unit, except the unit itself
+	private final long sourceLevel;
+	private final int rebuildCount;
+
+	private IncrementalStructure(char[] contents, CompilationUnitElementInfo unitInfo, HashMap<IJavaElement, JavaElementInfo> infos, long sourceLevel, int rebuildCount) {
+		this.contents = contents;
+		this.unitInfo = unitInfo;
+		this.infos = infos;
+		this.sourceLevel = sourceLevel;
+		this.rebuildCount = rebuildCount;
+	}
+
+	/**
+	 * Remembers the structure just built by parsing the given contents of the given unit,
+	 * or returns <code>null</code> if it cannot be rebuilt incrementally.
+	 */
+	static IncrementalStructure record(CompilationUnit unit, char[] contents, CompilationUnitElementInfo unitInfo, Map newElements, CompilerOptions options) {
+		if (contents == null || !unitInfo.isStructureKnown() || unitInfo.module != null)
+			return null;
+		HashMap<IJavaElement, JavaElementInfo> infos = new HashMap<>();
+		for (Iterator iterator = newElements.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			IJavaElement element = (IJavaElement) entry.getKey();
+			if (!element.equals(unit) && unit.equals(element.getAncestor(IJavaElement.COMPILATION_UNIT)))
+				infos.put(element, (JavaElementInfo) entry.getValue());
+		}
+		return new IncrementalStructure(contents.clone(), unitInfo, infos, options.sourceLevel, 0);
+	}
+
+	/**
+	 * Returns how many times this structure was rebuilt incrementally since the unit was last parsed.
+	 */
+	public int getRebuildCount() {
+		return this.rebuildCount;
+	}
+
+	/**
+	 * Builds the structure of the unit for the given contents into the given unit info and new elements,
+	 * provided they differ from the recorded contents only inside the body of a method or initializer.
+	 * Returns the new structure, or <code>null</code> if the unit must be parsed.
+	 */
+	IncrementalStructure rebuild(char[] newContents, CompilationUnitElementInfo newUnitInfo, Map newElements, Map settings, CompilerOptions options) {
+		if (newContents == null || options.sourceLevel != this.sourceLevel)
+			return null;
+
+		// find the edited range: [start, oldEnd[ in the recorded contents was replaced with [start, newEnd[
+		char[] oldContents = this.contents;
+		int oldLength = oldContents.length;
+		int newLength = newContents.length;
+		int start = 0;
+		int max = Math.min(oldLength, newLength);
+		while (start < max && oldContents[start] == newContents[start])
+			start++;
+		int oldEnd = oldLength;
+		int newEnd = newLength;
+		while (oldEnd > start && newEnd > start && oldContents[oldEnd - 1] == newContents[newEnd - 1]) {
+			oldEnd--;
+			newEnd--;
+		}
+		int delta = newLength - oldLength;
+
+		boolean hasFunctionalTypes = this.unitInfo.hasFunctionalTypes;
+		if (oldEnd > start || newEnd > start) {
+			IJavaElement member = findEditedMember(start, oldEnd);
+			if (member == null)
+				return null;
+			SourceRefElementInfo memberInfo = (SourceRefElementInfo) this.infos.get(member);
+			if (memberInfo.getChildren().length != 0 || memberInfo instanceof SourceAnnotationMethodInfo)
+				return null; // the braces of an annotation method surround its default value, not a body
+			int bodyStart = member.getElementType() == IJavaElement.METHOD ? ((AnnotatableInfo) memberInfo).getNameSourceEnd() + 1 : memberInfo.getDeclarationSourceStart();
+			int[] body = getBodyRange(oldContents, bodyStart, memberInfo.getDeclarationSourceEnd());
+			if (body == null || start <= body[0] || oldEnd > body[1])
+				return null;
+			boolean isConstructor = memberInfo instanceof SourceConstructorInfo;
+			ConstructorDeclaration parsedBody = new CodeSnippetParsingUtil().parseStatements(newContents, body[0] + 1, body[1] + delta - body[0] - 1, settings, false, false);
+			if (!isValidBody(parsedBody, isConstructor))
+				return null;
+			hasFunctionalTypes |= parsedBody.compilationResult.hasFunctionalTypes;
+		}
+
+		// copy the infos of the other elements and shift the positions following the edit
+		HashMap<IJavaElement, JavaElementInfo> newInfos = new HashMap<>();
+		HashMap<ILocalVariable, ILocalVariable> shiftedParameters = new HashMap<>();
+		for (Map.Entry<IJavaElement, JavaElementInfo> entry : this.infos.entrySet()) {
+			IJavaElement element = entry.getKey();
+			if (element instanceof LambdaExpression && ((LambdaExpression) element).sourceEnd >= start)
+				return null; // lambda expressions are identified by their position
+			JavaElementInfo info = (JavaElementInfo) entry.getValue().clone();
+			if (delta != 0 && !shift(info, oldEnd, delta, shiftedParameters))
+				return null;
+			newInfos.put(element, info);
+		}
+		// the infos of the shifted parameters are keyed by their new handles
+		for (Map.Entry<ILocalVariable, ILocalVariable> entry : shiftedParameters.entrySet()) {
+			JavaElementInfo info = newInfos.remove(entry.getKey());
+			if (info != null)
+				newInfos.put(entry.getValue(), info);
+		}
+		newUnitInfo.children = this.unitInfo.children;
+		newUnitInfo.setSourceLength(this.unitInfo.getSourceLength() + delta);
+		newUnitInfo.annotationNumber = this.unitInfo.annotationNumber;
+		newUnitInfo.hasFunctionalTypes = hasFunctionalTypes;
+		newUnitInfo.setIsStructureKnown(true);
+		newElements.putAll(newInfos);
+		return new IncrementalStructure(newContents.clone(), newUnitInfo, newInfos, this.sourceLevel, this.rebuildCount + 1);
+	}
+
+	/*
+	 * Returns the innermost method or initializer whose declaration contains the given range.
+	 */
+	private IJavaElement findEditedMember(int start, int end) {
+		IJavaElement member = null;
+		int memberStart = -1;
+		for (Map.Entry<IJavaElement, JavaElementInfo> entry : this.infos.entrySet()) {
+			IJavaElement element = entry.getKey();
+			switch (element.getElementType()) {
+				case IJavaElement.METHOD :
+					if (element instanceof LambdaMethod)
+						continue;
+					break;
+				case IJavaElement.INITIALIZER :
+					break;
+				default :
+					continue;
+			}
+			SourceRefElementInfo info = (SourceRefElementInfo) entry.getValue();
+			int declarationStart = info.getDeclarationSourceStart();
+			if (declarationStart < start && end <= info.getDeclarationSourceEnd() && declarationStart > memberStart) {
+				member = element;
+				memberStart = declarationStart;
+			}
+		}
+		return member;
+	}
+
+	/*
+	 * Returns the positions of the opening and closing braces of the first body found in the given range
+	 * outside of parentheses, or null if there is none.
+	 */
+	private int[] getBodyRange(char[] source, int start, int end) {
+		Scanner scanner = new Scanner(false, false, false, this.sourceLevel, null, null, false);
+		scanner.setSource(source);
+		scanner.resetTo(start, end);
+		int parenthesisDepth = 0;
+		int braceDepth = 0;
+		int bodyStart = -1;
+		try {
+			int token;
+			while ((token = scanner.getNextToken()) != TerminalTokens.TokenNameEOF) {
+				switch (token) {
+					case TerminalTokens.TokenNameLPAREN :
+						parenthesisDepth++;
+						break;
+					case TerminalTokens.TokenNameRPAREN :
+						parenthesisDepth--;
+						break;
+					case TerminalTokens.TokenNameSEMICOLON :
+						if (bodyStart == -1 && parenthesisDepth == 0)
+							return null; // no body
+						break;
+					case TerminalTokens.TokenNameLBRACE :
+						if (bodyStart == -1) {
+							if (parenthesisDepth != 0)
+								break;
+							bodyStart = scanner.startPosition;
+						}
+						braceDepth++;
+						break;
+					case TerminalTokens.TokenNameRBRACE :
+						if (bodyStart != -1 && --braceDepth == 0)
+							return new int[] {bodyStart, scanner.startPosition};
+						break;
+				}
+			}
+		} catch (InvalidInputException e) {
+			// ignore
+		}
+		return null;
+	}
+
+	/*
+	 * Returns whether the given body parsed without error and declares no element.
+	 */
+	private static boolean isValidBody(ConstructorDeclaration parsedBody, boolean isConstructor) {
+		if (parsedBody.compilationResult.hasErrors() || (parsedBody.bits & org.eclipse.jdt.internal.compiler.ast.ASTNode.HasSyntaxErrors) != 0)
+			return false;
+		if (!isConstructor && parsedBody.constructorCall != null && !parsedBody.constructorCall.isImplicitSuper())
+			return false; // only valid in a constructor
+		final boolean[] declaresElements = new boolean[1];
+		parsedBody.traverse(new ASTVisitor() {
+			@Override
+			public boolean visit(TypeDeclaration localTypeDeclaration, BlockScope scope) {
+				declaresElements[0] = true;
+				return false;
+			}
+			@Override
+			public boolean visit(org.eclipse.jdt.internal.compiler.ast.LambdaExpression lambdaExpression, BlockScope scope) {
+				declaresElements[0] = true;
+				return false;
+			}
+		}, (ClassScope) null);
+		return !declaresElements[0];
+	}
+
+	/*
+	 * Shifts the positions of the given info that follow the given end of the edit.
+	 * Returns false if an element handle depends on a shifted position.
+	 * The parameters replaced with handles at their new position are added to the given map.
+	 */
+	private static boolean shift(JavaElementInfo info, int end, int delta, Map<ILocalVariable, ILocalVariable> shiftedParameters) {
+		if (info instanceof SourceRefElementInfo) {
+			SourceRefElementInfo sourceRefInfo = (SourceRefElementInfo) info;
+			sourceRefInfo.sourceRangeStart = shift(sourceRefInfo.sourceRangeStart, end, delta);
+			sourceRefInfo.sourceRangeEnd = shift(sourceRefInfo.sourceRangeEnd, end, delta);
+		}
+		if (info instanceof AnnotatableInfo) {
+			AnnotatableInfo annotatableInfo = (AnnotatableInfo) info;
+			annotatableInfo.nameStart = shift(annotatableInfo.nameStart, end, delta);
+			annotatableInfo.nameEnd = shift(annotatableInfo.nameEnd, end, delta);
+		} else if (info instanceof ImportDeclarationElementInfo) {
+			ImportDeclarationElementInfo importInfo = (ImportDeclarationElementInfo) info;
+			importInfo.nameStart = shift(importInfo.nameStart, end, delta);
+			importInfo.nameEnd = shift(importInfo.nameEnd, end, delta);
+		} else if (info instanceof AnnotationInfo) {
+			AnnotationInfo annotationInfo = (AnnotationInfo) info;
+			annotationInfo.nameStart = shift(annotationInfo.nameStart, end, delta);
+			annotationInfo.nameEnd = shift(annotationInfo.nameEnd, end, delta);
+		} else if (info instanceof TypeParameterElementInfo) {
+			TypeParameterElementInfo typeParameterInfo = (TypeParameterElementInfo) info;
+			typeParameterInfo.nameStart = shift(typeParameterInfo.nameStart, end, delta);
+			typeParameterInfo.nameEnd = shift(typeParameterInfo.nameEnd, end, delta);
+		}
+		if (info instanceof SourceAnnotationMethodInfo) {
+			SourceAnnotationMethodInfo annotationMethodInfo = (SourceAnnotationMethodInfo) info;
+			annotationMethodInfo.defaultValueStart = shift(annotationMethodInfo.defaultValueStart, end, delta);
+			annotationMethodInfo.defaultValueEnd = shift(annotationMethodInfo.defaultValueEnd, end, delta);
+		}
+		if (info instanceof SourceMethodElementInfo) {
+			SourceMethodElementInfo methodInfo = (SourceMethodElementInfo) info;
+			ILocalVariable[] arguments = methodInfo.arguments;
+			if (arguments != null && arguments.length > 0 && ((LocalVariable) arguments[0]).declarationSourceStart >= end) {
+				// parameters are identified by their position
+				int length = arguments.length;
+				ILocalVariable[] newArguments = new ILocalVariable[length];
+				for (int i = 0; i < length; i++) {
+					LocalVariable argument = (LocalVariable) arguments[i];
+					if (argument.annotations.length != 0 || argument.annotationsOnDimensions != null)
+						return false; // the handles of the annotations depend on the position of the parameter
+					newArguments[i] = new LocalVariable(
+						(JavaElement) argument.getParent(),
+						argument.name,
+						argument.declarationSourceStart + delta,
+						argument.declarationSourceEnd + delta,
+						argument.nameStart + delta,
+						argument.nameEnd + delta,
+						argument.typeSignature,
+						null,
+						argument.getFlags(),
+						argument.isParameter());
+					shiftedParameters.put(argument, newArguments[i]);
+				}
+				methodInfo.arguments = newArguments;
+			}
+		}
+		return true;
+	}
+
+	private static int shift(int position, int end, int delta) {
+		return position >= end ? position + delta : position;
+	}
+}
@@ -88,6 +88,15 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 	 */
 	@Override
 	protected boolean computeChildren(OpenableElementInfo info, IResource underlyingResource) throws JavaModelException {
+		String layoutKey = ArchiveLayoutIndex.keyFor(this);
+		if (layoutKey != null) {
+			HashtableOfArrayToObject layout = ArchiveLayoutIndex.get(layoutKey);
+			if (layout != null) {
+				info.setChildren(createChildren(layout));
+				((JarPackageFragmentRootInfo) info).rawPackageInfo = layout;
+				return true;
+			}
+		}
 		final HashtableOfArrayToObject rawPackageInfo = new HashtableOfArrayToObject();
 		IJavaElement[] children;
 		try {
@@ -153,6 +162,7 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 				// not a ZIP archive, leave the children empty
 				Util.log(IStatus.ERROR, "Invalid ZIP archive: " + toStringWithAncestors()); //$NON-NLS-1$
 				children = NO_ELEMENTS;
+				layoutKey = null;
 			} else if (e instanceof JavaModelException) {
 				throw (JavaModelException)e;
 			} else {
@@ -162,6 +172,8 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 
 		info.setChildren(children);
 		((JarPackageFragmentRootInfo) info).rawPackageInfo = rawPackageInfo;
+		if (layoutKey != null)
+			ArchiveLayoutIndex.put(layoutKey, rawPackageInfo);
 		return true;
 	}
 	protected IJavaElement[] createChildren(final HashtableOfArrayToObject rawPackageInfo) {
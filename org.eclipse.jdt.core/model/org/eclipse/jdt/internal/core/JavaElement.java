@@ -847,35 +847,45 @@ public abstract class JavaElement extends PlatformObject implements IJavaElement
 		URL docUrl = null;
 		URLConnection connection = null;
 		try {
-			redirect: for (int i= 0; i < 5; i++) { // avoid endless redirects...
-				docUrl = new URL(docUrlValue);
-				connection = docUrl.openConnection();
-
-				int timeoutVal = 10000;
-				connection.setConnectTimeout(timeoutVal);
-				connection.setReadTimeout(timeoutVal);
-
-				if (connection instanceof HttpURLConnection) {
-					// HttpURLConnection doesn't redirect from http to https, see https://bugs.eclipse.org/450684
-					HttpURLConnection httpCon = (HttpURLConnection) connection;
-					if (httpCon.getResponseCode() == 301) {
-						docUrlValue = httpCon.getHeaderField("location"); //$NON-NLS-1$
-						if (docUrlValue != null) {
-							continue redirect;
+			String url = docUrlValue;
+			byte[] contents;
+			String encoding;
+			JavadocCache.Page page = JavadocCache.get(url);
+			if (page != null) {
+				contents = page.contents;
+				encoding = page.encoding;
+			} else {
+				redirect: for (int i= 0; i < 5; i++) { // avoid endless redirects...
+					docUrl = new URL(docUrlValue);
+					connection = docUrl.openConnection();
+
+					int timeoutVal = 10000;
+					connection.setConnectTimeout(timeoutVal);
+					connection.setReadTimeout(timeoutVal);
+
+					if (connection instanceof HttpURLConnection) {
+						// HttpURLConnection doesn't redirect from http to https, see https://bugs.eclipse.org/450684
+						HttpURLConnection httpCon = (HttpURLConnection) connection;
+						if (httpCon.getResponseCode() == 301) {
+							docUrlValue = httpCon.getHeaderField("location"); //$NON-NLS-1$
+							if (docUrlValue != null) {
+								continue redirect;
+							}
 						}
+					} else if (connection instanceof JarURLConnection) {
+						connection2 = (JarURLConnection) connection;
+						// https://bugs.eclipse.org/bugs/show_bug.cgi?id=156307
+						connection.setUseCaches(false);
 					}
-				} else if (connection instanceof JarURLConnection) {
-					connection2 = (JarURLConnection) connection;
-					// https://bugs.eclipse.org/bugs/show_bug.cgi?id=156307
-					connection.setUseCaches(false);
+					break;
 				}
-				break;
-			}
 
-			stream = new BufferedInputStream(connection.getInputStream());
+				stream = new BufferedInputStream(connection.getInputStream());
 
-			String encoding = connection.getContentEncoding();
-			byte[] contents = org.eclipse.jdt.internal.compiler.util.Util.getInputStreamAsByteArray(stream, connection.getContentLength());
+				encoding = connection.getContentEncoding();
+				contents = org.eclipse.jdt.internal.compiler.util.Util.getInputStreamAsByteArray(stream, connection.getContentLength());
+				JavadocCache.put(url, contents, encoding);
+			}
 			if (encoding == null) {
 				int index = getIndexOf(contents, META_START, 0, -1);
 				if (index != -1) {
@@ -12,8 +12,8 @@
  *								Bug 440477 - [null] Infrastructure for feeding external annotations into compilation
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -25,6 +25,12 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The cache of java elements to their respective info.
+ * <p>
+ * The LRU caches reorder their entries on lookup and must be accessed while holding the cache lock
+ * of the {@link JavaModelManager}. The infos of the Java model, of the projects and of the children
+ * of openables are kept in concurrent maps and can also be read without it,
+ * see {@link #isConcurrentlyReadable(IJavaElement)}.
+ * </p>
  */
 public class JavaModelCache {
 	public static boolean VERBOSE = false;
@@ -37,6 +43,11 @@ public class JavaModelCache {
 	public static final int DEFAULT_CHILDREN_SIZE = 250*20; // average 20 children per openable
 	public static final String RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.ratio"; //$NON-NLS-1$
 	public static final String JAR_TYPE_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.jartyperatio"; //$NON-NLS-1$
+	/*
+	 * Budget in megabytes of the openable cache. When set, the openable cache is limited by the estimated
+	 * size of its infos (see ElementCache#weightFor(JavaElementInfo)) instead of by its number of elements.
+	 */
+	public static final String OPENABLE_BUDGET_PROPERTY = "org.eclipse.jdt.core.javamodelcache.openablebudget"; //$NON-NLS-1$
 
 	public static final Object NON_EXISTING_JAR_TYPE_INFO = new Object();
 
@@ -45,15 +56,20 @@ public class JavaModelCache {
 	 */
 	protected double memoryRatio = -1;
 
+	/*
+	 * The weight limit of the openable cache in bytes, 0 if it is limited by its number of elements.
+	 */
+	protected long openableBudget = -1;
+
 	/**
 	 * Active Java Model Info
 	 */
-	protected JavaElementInfo modelInfo;
+	protected volatile JavaElementInfo modelInfo;
 
 	/**
 	 * Cache of open projects.
 	 */
-	protected HashMap<IJavaProject, JavaElementInfo> projectCache;
+	protected Map<IJavaProject, JavaElementInfo> projectCache;
 
 	/**
 	 * Cache of open package fragment roots.
@@ -86,17 +102,18 @@ public JavaModelCache() {
 	double ratio = getMemoryRatio();
 	// adjust the size of the openable cache using the RATIO_PROPERTY property
 	double openableRatio = getOpenableRatio();
-	this.projectCache = new HashMap<>(DEFAULT_PROJECT_SIZE); // NB: Don't use a LRUCache for projects as they are constantly reopened (e.g. during delta processing)
+	this.projectCache = new ConcurrentHashMap<>(DEFAULT_PROJECT_SIZE); // NB: Don't use a LRUCache for projects as they are constantly reopened (e.g. during delta processing)
 	if (VERBOSE) {
 		this.rootCache = new VerboseElementCache<>((int) (DEFAULT_ROOT_SIZE * ratio), "Root cache"); //$NON-NLS-1$
 		this.pkgCache = new VerboseElementCache<>((int) (DEFAULT_PKG_SIZE * ratio), "Package cache"); //$NON-NLS-1$
-		this.openableCache = new VerboseElementCache<>((int) (DEFAULT_OPENABLE_SIZE * ratio * openableRatio), "Openable cache"); //$NON-NLS-1$
+		this.openableCache = new VerboseElementCache<>(getOpenableCacheSize(), "Openable cache"); //$NON-NLS-1$
 	} else {
 		this.rootCache = new ElementCache<>((int) (DEFAULT_ROOT_SIZE * ratio));
 		this.pkgCache = new ElementCache<>((int) (DEFAULT_PKG_SIZE * ratio));
-		this.openableCache = new ElementCache<>((int) (DEFAULT_OPENABLE_SIZE * ratio * openableRatio));
+		this.openableCache = new ElementCache<>(getOpenableCacheSize());
 	}
-	this.childrenCache = new HashMap<>((int) (DEFAULT_CHILDREN_SIZE * ratio * openableRatio));
+	this.openableCache.setWeightLimit(getOpenableBudget());
+	this.childrenCache = new ConcurrentHashMap<>((int) (DEFAULT_CHILDREN_SIZE * ratio * openableRatio));
 	resetJarTypeCache();
 }
 
@@ -104,6 +121,35 @@ private double getOpenableRatio() {
 	return getRatioForProperty(RATIO_PROPERTY);
 }
 
+/*
+ * Returns the weight limit of the openable cache in bytes, or 0 if it is not set.
+ */
+protected long getOpenableBudget() {
+	if (this.openableBudget == -1) {
+		this.openableBudget = 0;
+		String property = System.getProperty(OPENABLE_BUDGET_PROPERTY);
+		if (property != null) {
+			try {
+				this.openableBudget = Math.max(0, Long.parseLong(property.trim())) * 0x100000;
+			} catch (NumberFormatException e) {
+				Util.log(e, "Could not parse value for " + OPENABLE_BUDGET_PROPERTY + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+	return this.openableBudget;
+}
+
+/*
+ * Returns the space limit of the openable cache. With a budget, the number of elements only
+ * bounds the cache if all its infos are smaller than estimated.
+ */
+protected int getOpenableCacheSize() {
+	long budget = getOpenableBudget();
+	if (budget > 0)
+		return (int) Math.min(Integer.MAX_VALUE / 2, budget / ElementCache.INFO_WEIGHT);
+	return (int) (DEFAULT_OPENABLE_SIZE * getMemoryRatio() * getOpenableRatio());
+}
+
 private double getJarTypeRatio() {
 	return getRatioForProperty(JAR_TYPE_RATIO_PROPERTY);
 }
@@ -138,11 +184,12 @@ public Object getInfo(IJavaElement element) {
 		case IJavaElement.CLASS_FILE:
 			return this.openableCache.get((ITypeRoot) element);
 		case IJavaElement.TYPE:
-			Object result = this.jarTypeCache.get(element);
-			if (result != null)
-				return result;
-			else
-				return this.childrenCache.get(element);
+			if (element instanceof BinaryType) {
+				Object result = this.jarTypeCache.get(element);
+				if (result != null)
+					return result;
+			}
+			return this.childrenCache.get(element);
 		default:
 			return this.childrenCache.get(element);
 	}
@@ -172,6 +219,24 @@ public IJavaElement getExistingElement(IJavaElement element) {
 	}
 }
 
+/*
+ * Returns whether the info of the given element is kept in a concurrent map, so that
+ * getInfo(IJavaElement) and peekAtInfo(IJavaElement) can be called without holding the cache lock.
+ */
+public static boolean isConcurrentlyReadable(IJavaElement element) {
+	switch (element.getElementType()) {
+		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+		case IJavaElement.PACKAGE_FRAGMENT:
+		case IJavaElement.COMPILATION_UNIT:
+		case IJavaElement.CLASS_FILE:
+			return false;
+		case IJavaElement.TYPE:
+			return !(element instanceof BinaryType); // see jarTypeCache
+		default:
+			return true;
+	}
+}
+
 protected double getMemoryRatio() {
 	if ((int) this.memoryRatio == -1) {
 		long maxMemory = Runtime.getRuntime().maxMemory();
@@ -200,11 +265,12 @@ protected Object peekAtInfo(IJavaElement element) {
 		case IJavaElement.CLASS_FILE:
 			return this.openableCache.peek((ITypeRoot) element);
 		case IJavaElement.TYPE:
-			Object result = this.jarTypeCache.peek(element);
-			if (result != null)
-				return result;
-			else
-				return this.childrenCache.get(element);
+			if (element instanceof BinaryType) {
+				Object result = this.jarTypeCache.peek(element);
+				if (result != null)
+					return result;
+			}
+			return this.childrenCache.get(element);
 		default:
 			return this.childrenCache.get(element);
 	}
@@ -288,7 +354,7 @@ protected void removeInfo(JavaElement element) {
 			break;
 		case IJavaElement.PACKAGE_FRAGMENT:
 			this.pkgCache.remove((IPackageFragment) element);
-			this.openableCache.resetSpaceLimit((int) (DEFAULT_OPENABLE_SIZE * getMemoryRatio() * getOpenableRatio()), element);
+			this.openableCache.resetSpaceLimit(getOpenableCacheSize(), element);
 			break;
 		case IJavaElement.COMPILATION_UNIT:
 		case IJavaElement.CLASS_FILE:
@@ -328,4 +394,26 @@ public String toStringFillingRation(String prefix) {
 	buffer.append('\n');
 	return buffer.toString();
 }
+public String toStringStatistics(String prefix) {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append(prefix);
+	buffer.append(this.rootCache.toStringStatistics("Root cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append(this.pkgCache.toStringStatistics("Package cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append(this.openableCache.toStringStatistics("Openable cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append(this.jarTypeCache.toStringStatistics("Jar type cache")); //$NON-NLS-1$
+	buffer.append('\n');
+	return buffer.toString();
+}
+public void resetStatistics() {
+	this.rootCache.resetStatistics();
+	this.pkgCache.resetStatistics();
+	this.openableCache.resetStatistics();
+	this.jarTypeCache.resetStatistics();
+}
 }
@@ -45,6 +45,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
@@ -72,6 +80,7 @@ import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
@@ -105,6 +114,7 @@ import org.eclipse.jdt.core.IJavaModel;
 import org.eclipse.jdt.core.IJavaModelStatus;
 import org.eclipse.jdt.core.IJavaModelStatusConstants;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IParent;
@@ -128,12 +138,14 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObjectToInt;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.JrtImageLayout;
 import org.eclipse.jdt.internal.compiler.util.ObjectVector;
 import org.eclipse.jdt.internal.core.JavaProjectElementInfo.ProjectCache;
 import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 import org.eclipse.jdt.internal.core.dom.SourceRangeVerifier;
 import org.eclipse.jdt.internal.core.dom.rewrite.RewriteEventStore;
 import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchy;
+import org.eclipse.jdt.internal.core.hierarchy.TypeHierarchyCache;
 import org.eclipse.jdt.internal.core.nd.IReader;
 import org.eclipse.jdt.internal.core.nd.Nd;
 import org.eclipse.jdt.internal.core.nd.db.Database;
@@ -264,6 +276,26 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	public int batchContainerInitializations = NO_BATCH_INITIALIZATION;
 
 	public BatchInitializationMonitor batchContainerInitializationsProgress = new BatchInitializationMonitor();
+
+	/*
+	 * Incremented whenever a change of the Java model is registered, see getModelStamp()
+	 */
+	private final AtomicLong modelStamp = new AtomicLong();
+
+	/*
+	 * The number of threads initializing the containers of different projects during a batch initialization.
+	 * Containers are initialized one at a time by default, as initializers contributed by other plug-ins
+	 * may not expect to be called concurrently.
+	 */
+	public static final String CONTAINER_INITIALIZATION_THREADS_PROPERTY = "org.eclipse.jdt.core.containerInitializationThreads"; //$NON-NLS-1$
+	public static int CONTAINER_INITIALIZATION_THREADS = Integer.getInteger(CONTAINER_INITIALIZATION_THREADS_PROPERTY, 1).intValue();
+	private ThreadLocal<ParallelContainerInitialization> containerInitializationWorker = new ThreadLocal<>(); // set on the workers
+
+	/*
+	 * The number of threads opening the openables given to openAll(IOpenable[], IProgressMonitor).
+	 */
+	public static final String BULK_OPEN_THREADS_PROPERTY = "org.eclipse.jdt.core.bulkOpenThreads"; //$NON-NLS-1$
+	public static int BULK_OPEN_THREADS = Integer.getInteger(BULK_OPEN_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()).intValue();
 	public Hashtable containerInitializersCache = new Hashtable(5);
 
 	/*
@@ -1225,6 +1257,14 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	private JavaModelCache cache;
 
+	/*
+	 * Lock guarding the infos cache. It is distinct from the lock of this manager, which guards
+	 * the containers and variables, so that opening elements does not contend with classpath resolution.
+	 * While holding it, the lock of this manager may be acquired (e.g. when closing an element
+	 * triggers the resolution of a classpath), but not the other way around.
+	 */
+	private final Object cacheLock = new Object();
+
 	/*
 	 * Temporary cache of newly opened elements
 	 */
@@ -1282,6 +1322,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		public IEclipsePreferences preferences;
 		public Hashtable options;
 		public Hashtable secondaryTypes;
+		public String secondaryTypesKey; // the source folders and Java-like extensions of the secondary types search, see #getSecondaryTypesKey(...)
+		public boolean triedReadSecondaryTypes;
+		public boolean secondaryTypesChecked; // whether the persisted secondary types were checked against the current source folders
 		// NB: PackageFragment#getAttachedJavadoc uses this map differently
 		// and stores String data, not JavadocContents as values
 		public LRUCache<IJavaElement, Object> javadocCache;
@@ -1533,10 +1576,23 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		int useCount = 0;
 		IProblemRequestor problemRequestor;
 		CompilationUnit workingCopy;
+		private ReconcileAnswers reconcileAnswers;
+		private IncrementalStructure structure;
 		public PerWorkingCopyInfo(CompilationUnit workingCopy, IProblemRequestor problemRequestor) {
 			this.workingCopy = workingCopy;
 			this.problemRequestor = problemRequestor;
 		}
+		public synchronized ReconcileAnswers getReconcileAnswers() {
+			if (this.reconcileAnswers == null)
+				this.reconcileAnswers = new ReconcileAnswers(this.workingCopy);
+			return this.reconcileAnswers;
+		}
+		public synchronized IncrementalStructure getStructure() {
+			return this.structure;
+		}
+		synchronized void setStructure(IncrementalStructure structure) {
+			this.structure = structure;
+		}
 		@Override
 		public void acceptProblem(IProblem problem) {
 			IProblemRequestor requestor = getProblemRequestor();
@@ -2006,6 +2062,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 			if (--info.useCount == 0) {
 				// remove per working copy info
+				modelChanged(); // the working copy is no longer seen by the name lookups of its owner
 				workingCopyToInfos.remove(workingCopy);
 				if (workingCopyToInfos.isEmpty()) {
 					this.perWorkingCopyInfos.remove(owner);
@@ -2100,7 +2157,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		IClasspathContainer container = containerGet(project, containerPath);
 
 		if (container == null) {
-			if (batchContainerInitializations()) {
+			ParallelContainerInitialization parallelInitialization = this.containerInitializationWorker.get();
+			if (parallelInitialization != null) {
+				// the containers of other projects are initialized by the worker which needs them first
+				container = initializeContainerOnWorker(parallelInitialization, project, containerPath);
+			} else if (batchContainerInitializations()) {
 				// avoid deep recursion while initializing container on workspace restart
 				// (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=60437)
 				try {
@@ -2170,8 +2231,13 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 	/**
 	 *  Returns the info for the element.
+	 *  <p>
+	 *  The infos that are kept in concurrent maps are read without locking. As putInfos(...) and
+	 *  removeInfoAndChildren(...) update the cache atomically under the cache lock, a miss is checked
+	 *  again under that lock, so that a child is never reported missing while its opened openable is present.
+	 *  </p>
 	 */
-	public synchronized Object getInfo(IJavaElement element) {
+	public Object getInfo(IJavaElement element) {
 		HashMap<IJavaElement, Object> tempCache = this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -2179,14 +2245,23 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				return result;
 			}
 		}
-		return this.cache.getInfo(element);
+		if (JavaModelCache.isConcurrentlyReadable(element)) {
+			Object result = this.cache.getInfo(element);
+			if (result != null)
+				return result;
+		}
+		synchronized (this.cacheLock) {
+			return this.cache.getInfo(element);
+		}
 	}
 
 	/**
 	 *  Returns the existing element in the cache that is equal to the given element.
 	 */
-	public synchronized IJavaElement getExistingElement(IJavaElement element) {
-		return this.cache.getExistingElement(element);
+	public IJavaElement getExistingElement(IJavaElement element) {
+		synchronized (this.cacheLock) {
+			return this.cache.getExistingElement(element);
+		}
 	}
 
 	public HashSet getExternalWorkingCopyProjects() {
@@ -2543,12 +2618,36 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			if (info == null && create) {
 				info= new PerWorkingCopyInfo(workingCopy, problemRequestor);
 				workingCopyToInfos.put(workingCopy, info);
+				modelChanged(); // the working copy is now seen by the name lookups of its owner
 			}
 			if (info != null && recordUsage) info.useCount++;
 			return info;
 		}
 	}
 
+	/**
+	 * Returns a number that changes whenever the Java model changes: when a delta is registered,
+	 * or when a working copy is created or discarded.
+	 */
+	public long getModelStamp() {
+		return this.modelStamp.get();
+	}
+
+	void modelChanged() {
+		this.modelStamp.incrementAndGet();
+	}
+
+	/*
+	 * Records a change of the Java model made by reconciling the given working copy.
+	 */
+	void workingCopyChanged(ICompilationUnit workingCopy) {
+		long stamp = this.modelStamp.incrementAndGet();
+		if (!(workingCopy instanceof CompilationUnit)) return;
+		PerWorkingCopyInfo info = getPerWorkingCopyInfo((CompilationUnit) workingCopy, false, false, null);
+		if (info != null)
+			info.getReconcileAnswers().workingCopyChanged(stamp);
+	}
+
 	/**
 	 * Returns a persisted container from previous session if any. Note that it is not the original container from previous
 	 * session (i.e. it did not get serialized) but rather a summary of its entries recreated for CP initialization purpose.
@@ -3057,24 +3156,32 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 								monitor.beginTask("", length); //$NON-NLS-1$
 							Map.Entry[] entries = new Map.Entry[length]; // clone as the following will have a side effect
 							entrySet.toArray(entries);
-							for (int i = 0; i < length; i++) {
-								Map.Entry entry = entries[i];
-								IJavaProject javaProject = (IJavaProject) entry.getKey();
-								HashSet pathSet = (HashSet) entry.getValue();
-								if (pathSet == null) continue;
-								int length2 = pathSet.size();
-								IPath[] paths = new IPath[length2];
-								pathSet.toArray(paths); // clone as the following will have a side effect
-								for (int j = 0; j < length2; j++) {
-									IPath path = paths[j];
-									initializeContainer(javaProject, path);
-									IClasspathContainer container = containerBeingInitializedGet(javaProject, path);
-									if (container != null) {
-										containerPut(javaProject, path, container);
+							if (CONTAINER_INITIALIZATION_THREADS > 1 && length > 1 && !ResourcesPlugin.getWorkspace().isTreeLocked()
+									&& Job.getJobManager().currentRule() == null) {
+								// workers modifying resources would wait for the current thread if it has locked the tree or owns a scheduling rule
+								initializeContainersInParallel(entries, monitor);
+							} else {
+								for (int i = 0; i < length; i++) {
+									Map.Entry entry = entries[i];
+									IJavaProject javaProject = (IJavaProject) entry.getKey();
+									HashSet pathSet = (HashSet) entry.getValue();
+									if (pathSet == null) continue;
+									int length2 = pathSet.size();
+									IPath[] paths = new IPath[length2];
+									pathSet.toArray(paths); // clone as the following will have a side effect
+									for (int j = 0; j < length2; j++) {
+										IPath path = paths[j];
+										if (containerGet(javaProject, path) != null)
+											continue; // already set by the initializer of another project
+										initializeContainer(javaProject, path);
+										IClasspathContainer container = containerBeingInitializedGet(javaProject, path);
+										if (container != null) {
+											containerPut(javaProject, path, container);
+										}
 									}
+									if (monitor != null)
+										monitor.worked(1);
 								}
-								if (monitor != null)
-									monitor.worked(1);
 							}
 							
 							// Set all containers
@@ -3128,6 +3235,166 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		return containerGet(javaProjectToInit, containerToInit);
 	}
 
+	/*
+	 * The containers being initialized by the workers of a parallel batch initialization. Each container is initialized
+	 * by the first worker which needs it, and the other workers which need it wait for it, so that a container of
+	 * another project is neither initialized twice nor seen as being initialized. A worker does not wait for
+	 * a container if it would wait for itself: it sees it as being initialized, like a serial initialization does.
+	 */
+	static class ParallelContainerInitialization {
+
+		static class Initialization {
+			final Thread owner = Thread.currentThread();
+			IClasspathContainer container;
+			boolean done;
+		}
+
+		private final HashMap<IJavaProject, HashMap<IPath, Initialization>> initializations = new HashMap<>();
+		private final HashMap<Thread, Initialization> waiting = new HashMap<>();
+
+		/*
+		 * Returns null if the current thread must initialize the given container, and then call initialized().
+		 * Otherwise waits until the initialization of the container is done and returns it,
+		 * or returns it while it is not done if waiting would be a cycle.
+		 */
+		synchronized Initialization claim(IJavaProject project, IPath containerPath) throws InterruptedException {
+			HashMap<IPath, Initialization> projectInitializations = this.initializations.get(project);
+			if (projectInitializations == null)
+				this.initializations.put(project, projectInitializations = new HashMap<>());
+			Initialization initialization = projectInitializations.get(containerPath);
+			if (initialization == null) {
+				projectInitializations.put(containerPath, new Initialization());
+				return null;
+			}
+			Thread current = Thread.currentThread();
+			for (Initialization waited = initialization; waited != null && !waited.done; waited = this.waiting.get(waited.owner)) {
+				if (waited.owner == current)
+					return initialization;
+			}
+			this.waiting.put(current, initialization);
+			try {
+				while (!initialization.done)
+					wait();
+			} finally {
+				this.waiting.remove(current);
+			}
+			return initialization;
+		}
+
+		synchronized void initialized(IJavaProject project, IPath containerPath, IClasspathContainer container) {
+			Initialization initialization = this.initializations.get(project).get(containerPath);
+			initialization.container = container;
+			initialization.done = true;
+			notifyAll();
+		}
+	}
+
+	/*
+	 * Initializes the given container on a worker of a parallel batch initialization, unless another worker does it.
+	 * Like in a serial batch initialization, the container is set right away and recorded as being initialized
+	 * by the worker, so that it is set by the thread which started the batch initialization.
+	 */
+	IClasspathContainer initializeContainerOnWorker(ParallelContainerInitialization parallelInitialization, IJavaProject project, IPath containerPath) throws JavaModelException {
+		ParallelContainerInitialization.Initialization initialization;
+		try {
+			initialization = parallelInitialization.claim(project, containerPath);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		if (initialization != null)
+			return initialization.done ? initialization.container : CONTAINER_INITIALIZATION_IN_PROGRESS;
+		IClasspathContainer container = null;
+		try {
+			initializeContainer(project, containerPath);
+			IClasspathContainer beingInitialized = containerBeingInitializedGet(project, containerPath);
+			if (beingInitialized != null)
+				containerPut(project, containerPath, beingInitialized);
+			container = containerGet(project, containerPath); // also set if the initializer set the same entries as in the previous session
+		} finally {
+			parallelInitialization.initialized(project, containerPath, container);
+		}
+		return container;
+	}
+
+	/*
+	 * Initializes the containers of the given projects on a pool of threads, the containers of one project
+	 * being initialized one after the other by the same thread. The containers set by the initializers are then
+	 * recorded as being initialized by the current thread, so that they are set like in a serial batch initialization.
+	 */
+	void initializeContainersInParallel(Map.Entry[] entries, IProgressMonitor monitor) throws CoreException {
+		int length = entries.length;
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ParallelContainerInitialization parallelInitialization = new ParallelContainerInitialization();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(CONTAINER_INITIALIZATION_THREADS, length), runnable -> {
+			Thread thread = new Thread(runnable, "Java Classpath Container Initializer #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			Future[] futures = new Future[length];
+			for (int i = 0; i < length; i++) {
+				final IJavaProject javaProject = (IJavaProject) entries[i].getKey();
+				HashSet pathSet = (HashSet) entries[i].getValue();
+				if (pathSet == null) continue;
+				final IPath[] paths = new IPath[pathSet.size()];
+				pathSet.toArray(paths);
+				futures[i] = executor.submit(() -> {
+					this.containerInitializationWorker.set(parallelInitialization);
+					try {
+						for (int j = 0; j < paths.length; j++) {
+							if (containerGet(javaProject, paths[j]) == null) // not already set by the initializer of another project
+								initializeContainerOnWorker(parallelInitialization, javaProject, paths[j]);
+						}
+						return this.containersBeingInitialized.get();
+					} finally {
+						this.containerInitializationWorker.remove();
+						this.containersBeingInitialized.remove();
+						this.containerInitializationInProgress.remove();
+					}
+				});
+			}
+			for (int i = 0; i < length; i++) {
+				if (futures[i] == null) continue;
+				Map perProjectContainers;
+				try {
+					perProjectContainers = (Map) futures[i].get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof CoreException)
+						throw (CoreException) cause;
+					if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					if (cause instanceof Error)
+						throw (Error) cause;
+					throw new JavaModelException(e, IJavaModelStatusConstants.CP_CONTAINER_PATH_UNBOUND);
+				}
+				if (perProjectContainers != null) {
+					Iterator iterator = perProjectContainers.entrySet().iterator();
+					while (iterator.hasNext()) {
+						Map.Entry entry = (Map.Entry) iterator.next();
+						IJavaProject project = (IJavaProject) entry.getKey();
+						Iterator containersIterator = ((Map) entry.getValue()).entrySet().iterator();
+						while (containersIterator.hasNext()) {
+							Map.Entry containerEntry = (Map.Entry) containersIterator.next();
+							IPath containerPath = (IPath) containerEntry.getKey();
+							IClasspathContainer container = (IClasspathContainer) containerEntry.getValue();
+							containerBeingInitializedPut(project, containerPath, container);
+							containerPut(project, containerPath, container);
+						}
+					}
+				}
+				if (monitor != null)
+					monitor.worked(1);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	private void verbose_batching_containers_initialization(IJavaProject javaProjectToInit, IPath containerToInit) {
 		Util.verbose(
 			"CPContainer INIT - batching containers initialization\n" + //$NON-NLS-1$
@@ -4019,7 +4286,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 *  Returns the info for this element without
 	 *  disturbing the cache ordering.
 	 */
-	protected synchronized Object peekAtInfo(IJavaElement element) {
+	protected Object peekAtInfo(IJavaElement element) {
 		HashMap tempCache = this.temporaryCache.get();
 		if (tempCache != null) {
 			Object result = tempCache.get(element);
@@ -4027,7 +4294,14 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				return result;
 			}
 		}
-		return this.cache.peekAtInfo(element);
+		if (JavaModelCache.isConcurrentlyReadable(element)) { // see getInfo(IJavaElement)
+			Object result = this.cache.peekAtInfo(element);
+			if (result != null)
+				return result;
+		}
+		synchronized (this.cacheLock) {
+			return this.cache.peekAtInfo(element);
+		}
 	}
 
 	/**
@@ -4044,7 +4318,13 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * If forceAdd is false it just returns the existing info and if true, this element and it's children are closed and then 
 	 * this particular info is added to the cache.
 	 */
-	protected synchronized Object putInfos(IJavaElement openedElement, Object newInfo, boolean forceAdd, Map<IJavaElement, Object> newElements) {
+	protected Object putInfos(IJavaElement openedElement, Object newInfo, boolean forceAdd, Map<IJavaElement, Object> newElements) {
+		synchronized (this.cacheLock) {
+			return putInfosWithLock(openedElement, newInfo, forceAdd, newElements);
+		}
+	}
+
+	private Object putInfosWithLock(IJavaElement openedElement, Object newInfo, boolean forceAdd, Map<IJavaElement, Object> newElements) {
 		// remove existing children as the are replaced with the new children contained in newElements
 		Object existingInfo = this.cache.peekAtInfo(openedElement);
 		if (existingInfo != null && !forceAdd) {
@@ -4088,6 +4368,174 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		return newInfo;
 	}
 
+	/**
+	 * Opens the given openables that are not open yet, concurrently on a pool of <code>BULK_OPEN_THREADS</code>
+	 * threads, then puts their infos in the Java model cache in one batch.
+	 * <p>
+	 * This is meant for clients that are about to query many class files or compilation units, e.g. the types
+	 * of all the class files of a library. The openables that cannot be opened (e.g. because they don't exist)
+	 * are left closed, so that querying them reports the same error as if this method had not been called.
+	 * As with any open, the infos may be removed from the cache again if it overflows.
+	 * </p><p>
+	 * The openables are opened one after the other if the current thread is already opening an element.
+	 * </p>
+	 *
+	 * @return the number of openables that were opened by this method
+	 */
+	public int openAll(IOpenable[] openables, IProgressMonitor monitor) {
+		int length = openables.length;
+		if (monitor != null)
+			monitor.beginTask("", length); //$NON-NLS-1$
+		try {
+			// open the parents first so that they are not opened by each worker
+			final Openable[] toOpen = new Openable[length];
+			int count = 0;
+			HashSet<Openable> parents = new HashSet<>();
+			for (int i = 0; i < length; i++) {
+				Openable openable = (Openable) openables[i];
+				if (openable.isOpen()) continue;
+				Openable parent = (Openable) openable.getOpenableParent();
+				if (parent != null && parents.add(parent) && !parent.isOpen()) {
+					try {
+						parent.getElementInfo(monitor);
+					} catch (JavaModelException e) {
+						continue; // the openable cannot be opened either
+					}
+				}
+				toOpen[count++] = openable;
+			}
+			if (monitor != null)
+				monitor.worked(length - count);
+			if (count == 0)
+				return 0;
+
+			if (BULK_OPEN_THREADS <= 1 || count == 1 || hasTemporaryCache()) {
+				int opened = 0;
+				for (int i = 0; i < count; i++) {
+					if (monitor != null && monitor.isCanceled())
+						throw new OperationCanceledException();
+					try {
+						toOpen[i].getElementInfo(null);
+						opened++;
+					} catch (JavaModelException e) {
+						// left closed
+					}
+					if (monitor != null)
+						monitor.worked(1);
+				}
+				return opened;
+			}
+			return openInParallel(toOpen, count, monitor);
+		} finally {
+			if (monitor != null)
+				monitor.done();
+		}
+	}
+
+	/*
+	 * Generates the infos of the given openables on a pool of threads, each worker taking the next openable
+	 * that is not taken yet and using its own temporary cache for each of them. The infos are put in the cache
+	 * once all the openables are opened.
+	 */
+	private int openInParallel(final Openable[] openables, final int count, final IProgressMonitor monitor) {
+		final Map[] newElements = new Map[count];
+		final NullProgressMonitor canceler = new NullProgressMonitor(); // checked by the workers
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicInteger done = new AtomicInteger();
+		int threads = Math.min(BULK_OPEN_THREADS, count);
+		final AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Java Model Opener #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		boolean completed = false;
+		try {
+			Future[] futures = new Future[threads];
+			for (int i = 0; i < threads; i++) {
+				futures[i] = executor.submit(() -> {
+					Object owner = new Object();
+					cacheZipFiles(owner); // the workers read the same archives again and again
+					try {
+						for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+							if (canceler.isCanceled() || (monitor != null && monitor.isCanceled()))
+								return null;
+							Openable openable = openables[index];
+							HashMap<IJavaElement, Object> elements = getTemporaryCache();
+							try {
+								openable.generateInfos(openable.createElementInfo(), elements, null);
+								newElements[index] = elements;
+							} catch (JavaModelException e) {
+								// left closed
+							} finally {
+								if (newElements[index] == null)
+									openable.closeBuffer(); // opened to build the structure (see JavaElement#openWhenClosed(...))
+								resetTemporaryCache();
+								done.incrementAndGet();
+							}
+						}
+						return null;
+					} finally {
+						flushZipFiles(owner);
+					}
+				});
+			}
+			int reported = 0;
+			for (int i = 0; i < threads; i++) {
+				while (true) {
+					try {
+						futures[i].get(100, TimeUnit.MILLISECONDS);
+						break;
+					} catch (TimeoutException e) {
+						if (monitor != null) {
+							int current = done.get();
+							monitor.worked(current - reported);
+							reported = current;
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new OperationCanceledException();
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof RuntimeException)
+							throw (RuntimeException) cause;
+						if (cause instanceof Error)
+							throw (Error) cause;
+						throw new IllegalStateException(cause);
+					}
+				}
+			}
+			if (monitor != null) {
+				monitor.worked(count - reported);
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+			completed = true;
+		} finally {
+			if (!completed)
+				canceler.setCanceled(true);
+			Util.shutdownAndWait(executor);
+			if (!completed) {
+				// the infos are not put in the cache, so their openables are left closed without their buffers
+				for (int i = 0; i < count; i++)
+					if (newElements[i] != null)
+						openables[i].closeBuffer();
+			}
+		}
+
+		int opened = 0;
+		synchronized (this.cacheLock) {
+			for (int i = 0; i < count; i++) {
+				if (newElements[i] == null) continue;
+				Openable openable = openables[i];
+				Object info = newElements[i].get(openable);
+				putInfosWithLock(openable, info, false, newElements[i]);
+				opened++;
+			}
+		}
+		return opened;
+	}
+
 	private void closeChildren(Object info) {
 		if (info instanceof JavaElementInfo) {
 			IJavaElement[] children = ((JavaElementInfo)info).getChildren();
@@ -4106,8 +4554,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * Remember the info for the jar binary type
 	 * @param info instanceof IBinaryType or {@link JavaModelCache#NON_EXISTING_JAR_TYPE_INFO}
 	 */
-	protected synchronized void putJarTypeInfo(IJavaElement type, Object info) {
-		this.cache.jarTypeCache.put(type, info);
+	protected void putJarTypeInfo(IJavaElement type, Object info) {
+		synchronized (this.cacheLock) {
+			this.cache.jarTypeCache.put(type, info);
+		}
 	}
 
 	/**
@@ -4221,7 +4671,13 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 * from the cache.
 	 * Returns the info for the given element, or null if it was closed.
 	 */
-	public synchronized Object removeInfoAndChildren(JavaElement element) throws JavaModelException {
+	public Object removeInfoAndChildren(JavaElement element) throws JavaModelException {
+		synchronized (this.cacheLock) {
+			return removeInfoAndChildrenWithLock(element);
+		}
+	}
+
+	private Object removeInfoAndChildrenWithLock(JavaElement element) throws JavaModelException {
 		Object info = this.cache.peekAtInfo(element);
 		if (info != null) {
 			boolean wasVerbose = false;
@@ -4249,7 +4705,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	}
 
 	void removeFromJarTypeCache(BinaryType type) {
-		this.cache.removeFromJarTypeCache(type);
+		synchronized (this.cacheLock) {
+			this.cache.removeFromJarTypeCache(type);
+		}
 	}
 
 	public void removePerProjectInfo(JavaProject javaProject, boolean removeExtJarInfo) {
@@ -4277,6 +4735,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				info.options = null;
 			}
 		}
+		TypeHierarchyCache.flush(); // the options may change how types are resolved
 	}
 
 	/*
@@ -4301,8 +4760,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	/*
 	 * Resets the cache that holds on binary type in jar files
 	 */
-	protected synchronized void resetJarTypeCache() {
-		this.cache.resetJarTypeCache();
+	protected void resetJarTypeCache() {
+		synchronized (this.cacheLock) {
+			this.cache.resetJarTypeCache();
+		}
 	}
 	
 	public void resetClasspathListCache() {
@@ -4346,6 +4807,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 		// save built state
 		if (info.triedRead) saveBuiltState(info);
+
+		// save secondary types
+		if (info.triedReadSecondaryTypes) saveSecondaryTypes(info);
 	}
 
 	/**
@@ -4761,6 +5225,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				IProject project = resource.getProject();
 				try {
 					PerProjectInfo projectInfo = getPerProjectInfoCheckExistence(project);
+					readSecondaryTypes(projectInfo);
 					// Get or create map to cache secondary types while indexing (can be not synchronized as indexing insure a non-concurrent usage)
 					HashMap indexedSecondaryTypes = null;
 					if (projectInfo.secondaryTypes == null) {
@@ -4848,6 +5313,16 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 		// Return cache if not empty and there's no new secondary types created during indexing
 		final PerProjectInfo projectInfo = getPerProjectInfoCheckExistence(project.getProject());
+		readSecondaryTypes(projectInfo);
+		if (!projectInfo.secondaryTypesChecked) {
+			// secondary types read from disk are only valid if the source folders did not change since they were saved
+			projectInfo.secondaryTypesChecked = true;
+			if (projectInfo.secondaryTypes != null && !getSecondaryTypesKey(getAllSourceFolders(project)).equals(projectInfo.secondaryTypesKey)) {
+				if (VERBOSE)
+					Util.verbose("	- discarding saved secondary types as the source folders changed"); //$NON-NLS-1$
+				projectInfo.secondaryTypes = null;
+			}
+		}
 		Map indexingSecondaryCache = projectInfo.secondaryTypes == null ? null : (Map) projectInfo.secondaryTypes.get(INDEXED_SECONDARY_TYPES);
 		if (projectInfo.secondaryTypes != null && indexingSecondaryCache == null) {
 			return projectInfo.secondaryTypes;
@@ -4968,6 +5443,149 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		return secondaryTypes;
 	}
 
+	/*
+	 * Returns the source folders of the given project and of its prerequisite projects.
+	 */
+	private IPackageFragmentRoot[] getAllSourceFolders(IJavaProject project) throws JavaModelException {
+		IPackageFragmentRoot[] allRoots = project.getAllPackageFragmentRoots();
+		int length = allRoots.length, size = 0;
+		IPackageFragmentRoot[] allSourceFolders = new IPackageFragmentRoot[length];
+		for (int i=0; i<length; i++) {
+			if (allRoots[i].getKind() == IPackageFragmentRoot.K_SOURCE) {
+				allSourceFolders[size++] = allRoots[i];
+			}
+		}
+		if (size < length) {
+			System.arraycopy(allSourceFolders, 0, allSourceFolders = new IPackageFragmentRoot[size], 0, size);
+		}
+		return allSourceFolders;
+	}
+
+	/*
+	 * Returns the key identifying the scope of a secondary types search, so that secondary types
+	 * saved in a previous session are not used if the source folders or the Java-like extensions changed.
+	 */
+	private String getSecondaryTypesKey(IPackageFragmentRoot[] sourceFolders) {
+		StringBuffer key = new StringBuffer();
+		for (int i = 0, length = sourceFolders.length; i < length; i++) {
+			key.append(sourceFolders[i].getPath().toString());
+			key.append('\n');
+		}
+		char[][] extensions = org.eclipse.jdt.internal.core.util.Util.getJavaLikeExtensions();
+		for (int i = 0, length = extensions.length; i < length; i++) {
+			key.append('.');
+			key.append(extensions[i]);
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Returns the File to use for saving and restoring the secondary types of the given project.
+	 */
+	private File getSecondaryTypesFile(IProject project) {
+		if (!project.exists()) return null;
+		IPath workingLocation = project.getWorkingLocation(JavaCore.PLUGIN_ID);
+		return workingLocation.append("secondaryTypes.dat").toFile(); //$NON-NLS-1$
+	}
+
+	/*
+	 * Reads the secondary types saved for the project of the given info, the first time they are needed.
+	 * The file is deleted once read, as the secondary types are then maintained in memory until the next save.
+	 */
+	private void readSecondaryTypes(PerProjectInfo projectInfo) {
+		if (projectInfo.triedReadSecondaryTypes) return;
+		synchronized (projectInfo) {
+			if (projectInfo.triedReadSecondaryTypes) return;
+			File file = getSecondaryTypesFile(projectInfo.project);
+			if (file != null && file.exists()) {
+				Hashtable secondaryTypes = new Hashtable(3);
+				try {
+					DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+					try {
+						if (!in.readUTF().equals(JavaCore.PLUGIN_ID) || !in.readUTF().equals("SECONDARY_TYPES")) //$NON-NLS-1$
+							throw new IOException(Messages.build_wrongFileFormat);
+						String key = in.readUTF();
+						IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+						for (int i = in.readInt(); --i >= 0;) {
+							String packageName = in.readUTF();
+							int typesCount = in.readInt();
+							HashMap types = new HashMap(typesCount);
+							for (int j = 0; j < typesCount; j++) {
+								String typeName = in.readUTF();
+								IFile typeFile = root.getFile(new Path(in.readUTF()));
+								ICompilationUnit unit = JavaModelManager.createCompilationUnitFrom(typeFile, null);
+								if (unit != null)
+									types.put(typeName, unit.getType(typeName));
+							}
+							secondaryTypes.put(packageName, types);
+						}
+						if (projectInfo.secondaryTypes == null) {
+							projectInfo.secondaryTypes = secondaryTypes;
+							projectInfo.secondaryTypesKey = key;
+							projectInfo.secondaryTypesChecked = false;
+						}
+						if (VERBOSE)
+							Util.verbose("Read secondary types of " + projectInfo.project.getName() + " from " + file); //$NON-NLS-1$ //$NON-NLS-2$
+					} finally {
+						in.close();
+					}
+				} catch (IOException | RuntimeException e) {
+					Util.log(e, "Could not read secondary types of " + projectInfo.project.getName()); //$NON-NLS-1$
+				}
+				file.delete();
+			}
+			projectInfo.triedReadSecondaryTypes = true;
+		}
+	}
+
+	/*
+	 * Saves the secondary types of the project of the given info if they are complete, i.e. if there are no types
+	 * found by the indexer waiting to be merged.
+	 */
+	private void saveSecondaryTypes(PerProjectInfo info) {
+		File file = getSecondaryTypesFile(info.project);
+		if (file == null) return;
+		Hashtable secondaryTypes = info.secondaryTypes;
+		String key = info.secondaryTypesKey;
+		if (secondaryTypes == null || key == null) {
+			file.delete();
+			return;
+		}
+		try {
+			synchronized (secondaryTypes) {
+				if (secondaryTypes.get(INDEXED_SECONDARY_TYPES) != null) {
+					file.delete();
+					return;
+				}
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+				try {
+					out.writeUTF(JavaCore.PLUGIN_ID);
+					out.writeUTF("SECONDARY_TYPES"); //$NON-NLS-1$
+					out.writeUTF(key);
+					out.writeInt(secondaryTypes.size());
+					Iterator packages = secondaryTypes.entrySet().iterator();
+					while (packages.hasNext()) {
+						Map.Entry entry = (Map.Entry) packages.next();
+						out.writeUTF((String) entry.getKey());
+						HashMap types = (HashMap) entry.getValue();
+						out.writeInt(types.size());
+						Iterator names = types.entrySet().iterator();
+						while (names.hasNext()) {
+							Map.Entry entry2 = (Map.Entry) names.next();
+							out.writeUTF((String) entry2.getKey());
+							out.writeUTF(((IType) entry2.getValue()).getPath().toString());
+						}
+					}
+				} finally {
+					out.close();
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			Util.log(e, "Could not save secondary types of " + info.project.getName()); //$NON-NLS-1$
+			file.delete();
+		}
+	}
+
 	/*
 	 * Perform search request to get all secondary types of a given project.
 	 * If not waiting for indexes and indexing is running, will return types found in current built indexes...
@@ -4995,17 +5613,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		};
 
 		// Build scope using prereq projects but only source folders
-		IPackageFragmentRoot[] allRoots = project.getAllPackageFragmentRoots();
-		int length = allRoots.length, size = 0;
-		IPackageFragmentRoot[] allSourceFolders = new IPackageFragmentRoot[length];
-		for (int i=0; i<length; i++) {
-			if (allRoots[i].getKind() == IPackageFragmentRoot.K_SOURCE) {
-				allSourceFolders[size++] = allRoots[i];
-			}
-		}
-		if (size < length) {
-			System.arraycopy(allSourceFolders, 0, allSourceFolders = new IPackageFragmentRoot[size], 0, size);
-		}
+		IPackageFragmentRoot[] allSourceFolders = getAllSourceFolders(project);
 
 		// Search all secondary types on scope
 		new BasicSearchEngine().searchAllSecondaryTypeNames(allSourceFolders, nameRequestor, waitForIndexes, monitor);
@@ -5034,6 +5642,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		// Store result in per project info cache if still null or there's still an indexing cache (may have been set by another thread...)
 		if (projectInfo.secondaryTypes == null || projectInfo.secondaryTypes.get(INDEXED_SECONDARY_TYPES) != null) {
 			projectInfo.secondaryTypes = secondaryTypes;
+			projectInfo.secondaryTypesKey = getSecondaryTypesKey(allSourceFolders);
+			projectInfo.secondaryTypesChecked = true;
 			if (VERBOSE || BasicSearchEngine.VERBOSE) {
 				System.out.print(Thread.currentThread() + "	-> secondary paths stored in cache: ");  //$NON-NLS-1$
 				System.out.println();
@@ -5065,6 +5675,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 		if (file != null) {
 			PerProjectInfo projectInfo = getPerProjectInfo(file.getProject(), false);
+			if (projectInfo != null)
+				readSecondaryTypes(projectInfo); // so that the saved secondary types see the changes made before they are used
 			if (projectInfo != null && projectInfo.secondaryTypes != null) {
 				if (VERBOSE) {
 					Util.verbose("-> remove file from cache of project: "+file.getProject().getName()); //$NON-NLS-1$
@@ -5344,7 +5956,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			this.cache = new JavaModelCache();
 
 			// request state folder creation (workaround 19885)
-			JavaCore.getPlugin().getStateLocation();
+			IPath stateLocation = JavaCore.getPlugin().getStateLocation();
+
+			// share the layouts of JRT images across sessions
+			if (JrtImageLayout.CacheDirectory == null)
+				JrtImageLayout.CacheDirectory = stateLocation.append("jrtLayouts").toFile(); //$NON-NLS-1$
 
 			// Initialize eclipse preferences
 			initializePreferences();
@@ -5354,6 +5970,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				@Override
 				public void preferenceChange(PreferenceChangeEvent event) {
 					JavaModelManager.this.optionsCache = null;
+					TypeHierarchyCache.flush();
 				}
 			};
 			InstanceScope.INSTANCE.getNode(JavaCore.PLUGIN_ID).addPreferenceChangeListener(this.propertyListener);
@@ -5612,8 +6229,27 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
-	public synchronized String cacheToString(String prefix) {
-		return this.cache.toStringFillingRation(prefix);
+	public String cacheToString(String prefix) {
+		synchronized (this.cacheLock) {
+			return this.cache.toStringFillingRation(prefix);
+		}
+	}
+
+	/**
+	 * Returns the hit, miss and eviction counters of the Java model caches.
+	 */
+	public String cacheStatisticsToString(String prefix) {
+		String buffers = prefix + BufferManager.getDefaultBufferManager().toStringStatistics() + '\n';
+		synchronized (this.cacheLock) {
+			return this.cache.toStringStatistics(prefix) + buffers;
+		}
+	}
+
+	public void resetCacheStatistics() {
+		synchronized (this.cacheLock) {
+			this.cache.resetStatistics();
+		}
+		BufferManager.getDefaultBufferManager().resetStatistics();
 	}
 	
 	public Stats debugNewOpenableCacheStats() {
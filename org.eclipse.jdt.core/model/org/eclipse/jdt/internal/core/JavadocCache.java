@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Plugin;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.util.DigestFileStore;
+import org.eclipse.jdt.internal.core.util.LRUCache;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * A workspace wide cache of the pages read from javadoc locations, shared by all projects
+ * and kept on disk across sessions.
+ * <p>
+ * Pages are stored as they were read (bytes and content encoding) under the state location,
+ * in files named by a digest of their key. Remote pages (<code>http:</code> and <code>https:</code>)
+ * are keyed by their URL and expire after <code>MaxAge</code>. Pages of <code>jar:</code> locations
+ * are keyed by their URL and the time stamp of the archive, so that they are not extracted again.
+ * Other pages are local files and are not cached. The most recently used pages are also kept in memory.
+ * </p><p>
+ * The total size of the files is bounded by <code>MaxDiskSize</code>: the least recently used files
+ * are deleted when it is exceeded.
+ * </p>
+ */
+public class JavadocCache {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableJavadocCache"); //$NON-NLS-1$
+	public static long MaxDiskSize = 64 * 1024 * 1024;
+	public static long MaxMemorySize = 4 * 1024 * 1024;
+	public static long MaxAge = 7L * 24 * 60 * 60 * 1000; // a week
+
+	static final int VERSION = 1;
+	static final String FILE_EXTENSION = ".page"; //$NON-NLS-1$
+	private static final String PLATFORM_RESOURCE = "platform:/resource"; //$NON-NLS-1$
+
+	static class Page {
+		final byte[] contents;
+		final String encoding;
+
+		Page(byte[] contents, String encoding) {
+			this.contents = contents;
+			this.encoding = encoding;
+		}
+	}
+
+	private static final LRUCache<String, Page> Pages = new LRUCache<String, Page>(1000) {
+		@Override
+		protected int weightFor(Page page) {
+			return page.contents.length;
+		}
+	};
+	private static DigestFileStore Store;
+	private static int HitCount;
+
+	static {
+		Pages.setWeightLimit(MaxMemorySize);
+	}
+
+	/**
+	 * Returns the cached page read from the given URL, or <code>null</code> if it is not cached.
+	 */
+	static Page get(String url) {
+		if (!ENABLED) return null;
+		String key = keyFor(url);
+		if (key == null) return null;
+		Page page;
+		synchronized (JavadocCache.class) {
+			page = Pages.get(key);
+		}
+		if (page == null) {
+			page = read(key);
+			if (page == null) return null;
+			synchronized (JavadocCache.class) {
+				Pages.put(key, page);
+			}
+		}
+		synchronized (JavadocCache.class) {
+			HitCount++;
+		}
+		return page;
+	}
+
+	/**
+	 * Remembers the page read from the given URL.
+	 */
+	static void put(String url, byte[] contents, String encoding) {
+		if (!ENABLED || contents == null) return;
+		String key = keyFor(url);
+		if (key == null) return;
+		Page page = new Page(contents, encoding);
+		synchronized (JavadocCache.class) {
+			Pages.put(key, page);
+		}
+		write(key, page);
+	}
+
+	/**
+	 * Forgets the pages kept in memory. The pages on disk are kept.
+	 */
+	public static synchronized void flush() {
+		Pages.flush();
+	}
+
+	/**
+	 * Returns the number of pages answered from this cache.
+	 */
+	public static synchronized int getHitCount() {
+		return HitCount;
+	}
+
+	/*
+	 * Returns the key of the given URL, or null if its page is not cached.
+	 */
+	private static String keyFor(String url) {
+		if (url.startsWith("http:") || url.startsWith("https:")) //$NON-NLS-1$ //$NON-NLS-2$
+			return url;
+		if (!url.startsWith("jar:")) //$NON-NLS-1$
+			return null;
+		int separator = url.indexOf("!/"); //$NON-NLS-1$
+		if (separator == -1)
+			return null;
+		String archive = url.substring(4, separator);
+		if (archive.startsWith("http:") || archive.startsWith("https:")) //$NON-NLS-1$ //$NON-NLS-2$
+			return url;
+		File file = null;
+		try {
+			if (archive.startsWith("file:")) { //$NON-NLS-1$
+				file = new File(new URI(archive));
+			} else if (archive.startsWith(PLATFORM_RESOURCE)) {
+				IPath path = new Path(new URI(archive).getPath());
+				IPath location = ResourcesPlugin.getWorkspace().getRoot().getFile(path).getLocation();
+				if (location != null)
+					file = location.toFile();
+			}
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+		if (file == null || !file.isFile())
+			return null;
+		return url + '@' + file.lastModified() + '#' + file.length();
+	}
+
+	private static boolean isRemote(String key) {
+		return key.startsWith("http") || key.startsWith("jar:http"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static synchronized DigestFileStore store() {
+		if (Store == null) {
+			Plugin plugin = JavaCore.getPlugin();
+			if (plugin == null) return null;
+			Store = new DigestFileStore(plugin.getStateLocation().append("javadocCache").toFile(), FILE_EXTENSION); //$NON-NLS-1$
+		}
+		return Store;
+	}
+
+	private static Page read(String key) {
+		DigestFileStore store = store();
+		if (store == null) return null;
+		File file = store.fileFor(key);
+		if (file == null || !file.isFile()) return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION || !key.equals(in.readUTF()))
+				return null;
+			long time = in.readLong();
+			if (isRemote(key) && System.currentTimeMillis() - time > MaxAge) {
+				in.close();
+				file.delete(); // expired
+				return null;
+			}
+			String encoding = in.readBoolean() ? in.readUTF() : null;
+			byte[] contents = new byte[in.readInt()];
+			in.readFully(contents);
+			store.used(file);
+			return new Page(contents, encoding);
+		} catch (IOException e) {
+			return null; // being written or corrupted
+		}
+	}
+
+	private static void write(final String key, final Page page) {
+		if (key.length() > 0xFFFF / 3) return; // does not fit in writeUTF()
+		DigestFileStore store = store();
+		if (store == null) return;
+		try {
+			store.write(key, out -> {
+				out.writeInt(VERSION);
+				out.writeUTF(key);
+				out.writeLong(System.currentTimeMillis());
+				out.writeBoolean(page.encoding != null);
+				if (page.encoding != null)
+					out.writeUTF(page.encoding);
+				out.writeInt(page.contents.length);
+				out.write(page.contents);
+			}, MaxDiskSize);
+		} catch (IOException e) {
+			Util.log(e, "Could not write javadoc cache file for " + key); //$NON-NLS-1$
+		}
+	}
+}
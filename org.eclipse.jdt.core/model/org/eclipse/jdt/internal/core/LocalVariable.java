@@ -97,8 +97,10 @@ public class LocalVariable extends SourceRefElement implements ILocalVariable {
 	}
 
 	@Override
-	protected void closing(Object info) {
-		// a local variable has no info
+	protected void closing(Object info) throws JavaModelException {
+		// only method parameters have an info, which holds their annotations
+		if (info instanceof AnnotatableInfo)
+			SourceRefElement.closeAll(((AnnotatableInfo) info).annotations);
 	}
 
 	@Override
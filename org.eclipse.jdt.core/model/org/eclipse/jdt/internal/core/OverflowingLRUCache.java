@@ -39,6 +39,8 @@ import org.eclipse.jdt.internal.core.util.Messages;
  *
  *	<p>The cache calculates the used space of all elements which implement
  *	<code>ILRUCacheable</code>.  All other elements are assumed to be of size one.
+ *	When a weight limit is set, the least recently used elements are also closed
+ *	while the estimated weight of the cache exceeds that limit.
  *
  *	<p>Use the <code>#peek(Object)</code> and <code>#disableTimestamps()</code> method to
  *	circumvent the timestamp feature of the cache.  This feature is intended to be used
@@ -88,6 +90,7 @@ public OverflowingLRUCache(int size, int overflow) {
 	public OverflowingLRUCache<K, V> clone() {
 
 		OverflowingLRUCache<K, V> newCache = (OverflowingLRUCache<K, V>)newInstance(this.spaceLimit, this.overflow);
+		newCache.weightLimit = this.weightLimit;
 		LRUCacheEntry<K, V> qEntry;
 
 		/* Preserve order of entries by copying from oldest to newest */
@@ -202,6 +205,26 @@ public double getLoadFactor() {
 		return false;
 	}
 
+	/**
+	 * Closes the least recently used elements while the estimated weight of the cache exceeds
+	 * its weight limit. Elements that cannot be closed and the most recently used element are kept.
+	 */
+	@Override
+	protected void makeWeight() {
+		if (this.weightLimit <= 0 || this.currentWeight <= this.weightLimit) return;
+		LRUCacheEntry<K, V> entry = this.entryQueueTail;
+		try {
+			// see makeSpace(int)
+			this.timestampsOn = false;
+			while (this.currentWeight > this.weightLimit && entry != null && entry != this.entryQueue) {
+				this.privateRemoveEntry(entry, false, false);
+				entry = entry.previous;
+			}
+		} finally {
+			this.timestampsOn = true;
+		}
+	}
+
 	/**
 	 * Returns a new instance of the reciever.
 	 */
@@ -283,8 +306,10 @@ protected void privateRemoveEntry(LRUCacheEntry<K, V> entry, boolean shuffle, bo
 		if (external) {
 			this.entryTable.remove(entry.key);
 			this.currentSpace -= entry.space;
+			this.currentWeight -= entry.weight;
 		} else {
 			if (!close(entry)) return;
+			this.evictionCount++;
 			// buffer close will recursively call #privateRemoveEntry with external==true
 			// thus entry will already be removed if reaching this point.
 			if (this.entryTable.get(entry.key) == null){
@@ -293,6 +318,7 @@ protected void privateRemoveEntry(LRUCacheEntry<K, V> entry, boolean shuffle, bo
 				// basic removal
 				this.entryTable.remove(entry.key);
 				this.currentSpace -= entry.space;
+				this.currentWeight -= entry.weight;
 			}
 		}
 	}
@@ -338,6 +364,10 @@ protected void privateRemoveEntry(LRUCacheEntry<K, V> entry, boolean shuffle, bo
 				entry.space = newSpace;
 				this.currentSpace = newTotal;
 				this.overflow = 0;
+				int newWeight = weightFor(value);
+				this.currentWeight += newWeight - entry.weight;
+				entry.weight = newWeight;
+				makeWeight();
 				return value;
 			} else {
 				privateRemoveEntry (entry, false, false);
@@ -350,6 +380,7 @@ protected void privateRemoveEntry(LRUCacheEntry<K, V> entry, boolean shuffle, bo
 		// add without worring about space, it will
 		// be handled later in a makeSpace call
 		privateAdd (key, value, newSpace);
+		makeWeight();
 
 		return value;
 	}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.util.HashMap;
+
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.ISourceType;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+
+/**
+ * Remembers the types found by the name environment while reconciling a working copy, so that the
+ * following reconciles of this working copy do not look up again the types it depends on.
+ * <p>
+ * The answers are kept as long as the Java model does not change (see {@link JavaModelManager#getModelStamp()}).
+ * Changes of the working copy itself do not count, as its own types are never looked up in the name
+ * environment while it is being compiled.
+ * </p>
+ */
+public class ReconcileAnswers {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableReconcileAnswers"); //$NON-NLS-1$
+	public static int MaxEntries = 5000;
+
+	private static final NameEnvironmentAnswer NOT_FOUND = new NameEnvironmentAnswer((IBinaryType) null, null);
+
+	private final CompilationUnit workingCopy;
+	private final HashMap<String, NameEnvironmentAnswer> answers = new HashMap<>();
+	private long stamp = -1;
+	private JavaProject project;
+	private WorkingCopyOwner owner;
+	private boolean excludeTestCode;
+	private boolean checkAccessRestrictions;
+	private int hitCount;
+
+	public ReconcileAnswers(CompilationUnit workingCopy) {
+		this.workingCopy = workingCopy;
+	}
+
+	/**
+	 * Forgets the answers if they were found in another state of the Java model or by a different name environment.
+	 */
+	synchronized void validate(long modelStamp, JavaProject javaProject, WorkingCopyOwner workingCopyOwner, boolean exclude, boolean check) {
+		if (this.stamp == modelStamp && javaProject.equals(this.project) && workingCopyOwner == this.owner
+				&& exclude == this.excludeTestCode && check == this.checkAccessRestrictions)
+			return;
+		this.answers.clear();
+		this.stamp = modelStamp;
+		this.project = javaProject;
+		this.owner = workingCopyOwner;
+		this.excludeTestCode = exclude;
+		this.checkAccessRestrictions = check;
+	}
+
+	/**
+	 * Records that the working copy changed the Java model to the given stamp. The answers stay valid if
+	 * this is the only change since they were found.
+	 */
+	synchronized void workingCopyChanged(long modelStamp) {
+		if (this.stamp == modelStamp - 1)
+			this.stamp = modelStamp;
+	}
+
+	/**
+	 * Returns whether the given type name was found missing.
+	 */
+	synchronized boolean isMissing(String qualifiedTypeName) {
+		if (this.answers.get(qualifiedTypeName) != NOT_FOUND)
+			return false;
+		this.hitCount++;
+		return true;
+	}
+
+	synchronized NameEnvironmentAnswer get(String qualifiedTypeName) {
+		NameEnvironmentAnswer answer = this.answers.get(qualifiedTypeName);
+		if (answer == null || answer == NOT_FOUND)
+			return null;
+		this.hitCount++;
+		return answer;
+	}
+
+	/**
+	 * Remembers the answer for the given type name, unless it depends on the working copy itself.
+	 */
+	synchronized void put(String qualifiedTypeName, NameEnvironmentAnswer answer) {
+		if (answer == null) {
+			answer = NOT_FOUND;
+		} else if (answer.isSourceType()) {
+			ISourceType[] sourceTypes = answer.getSourceTypes();
+			if (!(sourceTypes[0] instanceof SourceTypeElementInfo)
+					|| this.workingCopy.equals(((SourceTypeElementInfo) sourceTypes[0]).getHandle().getCompilationUnit()))
+				return;
+		} else if (!answer.isBinaryType()) {
+			return; // compilation units are given with their current contents
+		}
+		if (this.answers.size() >= MaxEntries)
+			this.answers.clear();
+		this.answers.put(qualifiedTypeName, answer);
+	}
+
+	/**
+	 * Returns the number of lookups answered from this cache.
+	 */
+	public synchronized int getHitCount() {
+		return this.hitCount;
+	}
+
+	public synchronized int size() {
+		return this.answers.size();
+	}
+}
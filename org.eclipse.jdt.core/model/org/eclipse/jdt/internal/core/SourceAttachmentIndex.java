@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Plugin;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Remembers across sessions the root paths that {@link SourceMapper} found in source attachments,
+ * so that the class files and the sources of large archives are not scanned again to guess them.
+ * <p>
+ * Only archives are indexed. They are keyed by the path, time stamp and size of both the source
+ * attachment and the binary root, and by the source and compliance levels used to validate the
+ * package names.
+ * </p>
+ */
+public class SourceAttachmentIndex {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableSourceAttachmentIndex"); //$NON-NLS-1$
+	public static int MaxEntries = 500;
+
+	static final int VERSION = 1;
+
+	private static Map<String, String[]> RootPaths; // loaded lazily, the least recently used first
+	private static int HitCount;
+
+	/**
+	 * Returns the key of the given source attachment of the given root,
+	 * or <code>null</code> if its root paths cannot be indexed.
+	 */
+	static String keyFor(IPath sourcePath, IPackageFragmentRoot root) {
+		if (!ENABLED || !root.isArchive()) return null;
+		String sourceStamp = archiveStamp(sourcePath);
+		if (sourceStamp == null) return null;
+		IPath rootPath = root.getPath();
+		String rootStamp = archiveStamp(rootPath);
+		if (rootStamp == null) return null;
+		IJavaProject project = root.getJavaProject();
+		return sourcePath.toPortableString() + '@' + sourceStamp + '|' + rootPath.toPortableString() + '@' + rootStamp
+			+ '|' + project.getOption(JavaCore.COMPILER_SOURCE, true) + '|' + project.getOption(JavaCore.COMPILER_COMPLIANCE, true);
+	}
+
+	/**
+	 * Returns the time stamp and size of the archive at the given path, or <code>null</code> if it is not a file.
+	 */
+	static String archiveStamp(IPath path) {
+		Object target = JavaModel.getTarget(path, true);
+		File file;
+		if (target instanceof IFile) {
+			IPath location = ((IFile) target).getLocation();
+			if (location == null) return null;
+			file = location.toFile();
+		} else if (target instanceof File) {
+			file = (File) target;
+		} else {
+			return null;
+		}
+		if (!file.isFile()) return null;
+		return Long.toString(file.lastModified()) + '#' + file.length();
+	}
+
+	/**
+	 * Returns the root paths found in the source attachment of the given key,
+	 * or <code>null</code> if they are not known.
+	 */
+	static synchronized String[] getRootPaths(String key) {
+		String[] rootPaths = rootPaths().get(key);
+		if (rootPaths != null)
+			HitCount++;
+		return rootPaths;
+	}
+
+	/**
+	 * Remembers the root paths found in the source attachment of the given key.
+	 */
+	static synchronized void putRootPaths(String key, Collection<IPath> paths) {
+		String[] rootPaths = new String[paths.size()];
+		int i = 0;
+		for (IPath path : paths)
+			rootPaths[i++] = path.toString();
+		Map<String, String[]> map = rootPaths();
+		map.put(key, rootPaths);
+		for (Iterator<String> iterator = map.keySet().iterator(); map.size() > MaxEntries && iterator.hasNext();) {
+			iterator.next();
+			iterator.remove();
+		}
+		save(map);
+	}
+
+	/**
+	 * Returns the number of lookups answered from this index.
+	 */
+	public static synchronized int getHitCount() {
+		return HitCount;
+	}
+
+	/**
+	 * Forgets the index loaded in memory, so that it is read again from disk.
+	 */
+	public static synchronized void reset() {
+		RootPaths = null;
+	}
+
+	private static File getIndexFile() {
+		Plugin plugin = JavaCore.getPlugin();
+		if (plugin == null) return null;
+		return plugin.getStateLocation().append("sourceAttachmentIndex.dat").toFile(); //$NON-NLS-1$
+	}
+
+	private static Map<String, String[]> rootPaths() {
+		if (RootPaths == null) {
+			RootPaths = new LinkedHashMap<>(16, 0.75f, true);
+			File file = getIndexFile();
+			if (file != null && file.isFile()) {
+				try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+					if (in.readInt() == VERSION) {
+						for (int i = 0, size = in.readInt(); i < size; i++) {
+							String key = in.readUTF();
+							String[] rootPaths = new String[in.readInt()];
+							for (int j = 0; j < rootPaths.length; j++)
+								rootPaths[j] = in.readUTF();
+							RootPaths.put(key, rootPaths);
+						}
+					}
+				} catch (IOException e) {
+					RootPaths.clear();
+					if (SourceMapper.VERBOSE)
+						e.printStackTrace();
+				}
+			}
+		}
+		return RootPaths;
+	}
+
+	private static void save(Map<String, String[]> map) {
+		File file = getIndexFile();
+		if (file == null) return;
+		// write a temporary file which is then renamed, so that a crash does not leave a truncated index
+		File tempFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(VERSION);
+			out.writeInt(map.size());
+			for (Map.Entry<String, String[]> entry : map.entrySet()) {
+				out.writeUTF(entry.getKey());
+				String[] rootPaths = entry.getValue();
+				out.writeInt(rootPaths.length);
+				for (String rootPath : rootPaths)
+					out.writeUTF(rootPath);
+			}
+		} catch (IOException e) {
+			tempFile.delete();
+			Util.log(e, "Could not save the source attachment index"); //$NON-NLS-1$
+			return;
+		}
+		if (!tempFile.renameTo(file)) {
+			file.delete();
+			if (!tempFile.renameTo(file)) {
+				tempFile.delete();
+				Util.log(new IOException("Could not rename " + tempFile), "Could not save the source attachment index"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+}
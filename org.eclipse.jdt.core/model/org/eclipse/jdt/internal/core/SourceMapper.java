@@ -549,7 +549,15 @@ public class SourceMapper
 
 		String sourceLevel = null;
 		String complianceLevel = null;
-		if (Util.isJrt(pkgFragmentRootPath.toOSString())) {
+		String indexKey = SourceAttachmentIndex.keyFor(this.sourcePath, root);
+		String[] indexedRootPaths = indexKey == null ? null : SourceAttachmentIndex.getRootPaths(indexKey);
+		boolean incomplete = false; // an archive could not be read, so the root paths must not be indexed
+		if (indexedRootPaths != null) {
+			for (int i = 0, length = indexedRootPaths.length; i < length; i++) {
+				tempRoots.add(new Path(indexedRootPaths[i]));
+			}
+			containsJavaSource = false; // no need to read the source attachment again
+		} else if (Util.isJrt(pkgFragmentRootPath.toOSString())) {
 			try {
 				JrtPackageNamesAdderVisitor jrtPackageNamesAdderVisitor = new JrtPackageNamesAdderVisitor(firstLevelPackageNames, 
 						sourceLevel, complianceLevel, containsADefaultPackage, containsJavaSource, root);
@@ -560,6 +568,7 @@ public class SourceMapper
 				containsJavaSource = jrtPackageNamesAdderVisitor.containsJavaSource;
 			} catch (IOException e) {
 				// We are not reading any specific file, so, move on for now
+				incomplete = true;
 				if (VERBOSE) {
 					e.printStackTrace();
 				}
@@ -597,7 +606,7 @@ public class SourceMapper
 					}
 				}
 			} catch (CoreException e) {
-				// ignore
+				incomplete = true;
 			} finally {
 				manager.closeZipFile(zip); // handle null case
 			}
@@ -666,12 +675,15 @@ public class SourceMapper
 						}
 					}
 				} catch (CoreException e) {
-					// ignore
+					incomplete = true;
 				} finally {
 					manager.closeZipFile(zip); // handle null case
 				}
 			}
 		}
+		if (indexKey != null && indexedRootPaths == null && !incomplete) {
+			SourceAttachmentIndex.putRootPaths(indexKey, tempRoots);
+		}
 		int size = tempRoots.size();
 		if (this.rootPaths != null) {
 			for (Iterator iterator = this.rootPaths.iterator(); iterator.hasNext(); ) {
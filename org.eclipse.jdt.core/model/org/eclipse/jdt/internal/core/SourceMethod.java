@@ -46,6 +46,7 @@ protected void closing(Object info) throws JavaModelException {
 	for (int i = 0, length = typeParameters.length; i < length; i++) {
 		((TypeParameter) typeParameters[i]).close();
 	}
+	closeAll(elementInfo.arguments);
 }
 @Override
 public boolean equals(Object o) {
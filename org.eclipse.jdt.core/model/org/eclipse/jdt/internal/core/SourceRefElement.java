@@ -44,7 +44,17 @@ protected SourceRefElement(JavaElement parent) {
  */
 @Override
 protected void closing(Object info) throws JavaModelException {
-	// Do any necessary cleanup
+	// the infos of the annotations are not children of this element's info, but they are cached with it
+	if (info instanceof AnnotatableInfo)
+		closeAll(((AnnotatableInfo) info).annotations);
+}
+/*
+ * Closes the given elements, e.g. the annotations or parameters of the element being closed.
+ */
+static void closeAll(IJavaElement[] elements) throws JavaModelException {
+	if (elements == null) return;
+	for (int i = 0, length = elements.length; i < length; i++)
+		((JavaElement) elements[i]).close();
 }
 /**
  * Returns a new element info for this element.
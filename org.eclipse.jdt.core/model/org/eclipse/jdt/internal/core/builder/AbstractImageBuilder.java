@@ -31,6 +31,7 @@ import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
 
 /**
@@ -55,12 +56,19 @@ protected LinkedHashSet<SourceFile> problemSourceFiles;
 protected boolean compiledAllAtOnce;
 
 private boolean inCompiler;
+// time spent writing class files and storing markers during the current compile, only measured when tracing
+private long outputNanos;
+private long markerNanos;
 
 protected boolean keepStoringProblemMarkers;
 protected Set<SourceFile> filesWithAnnotations = null;
+// package folders whose class files were written directly to the file system, mapped to the new files
+protected LinkedHashMap<IContainer, List<IFile>> bulkWrittenFolders = null;
 
 //2000 is best compromise between space used and speed
 public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
+// write class files through java.nio and refresh the workspace once per package after each compile loop
+public static boolean BULK_OUTPUT_WRITING = Boolean.getBoolean("jdt.builder.bulkOutputWriting"); //$NON-NLS-1$
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
 	IMarker.MESSAGE,
 	IMarker.SEVERITY,
@@ -136,12 +144,18 @@ public void acceptResult(CompilationResult result) {
 	if (!this.workQueue.isCompiled(compilationUnit)) {
 		this.workQueue.finished(compilationUnit);
 
+		long start = BuildTrace.start();
 		try {
 			updateProblemsFor(compilationUnit, result); // record compilation problems before potentially adding duplicate errors
 			updateTasksFor(compilationUnit, result); // record tasks
 		} catch (CoreException e) {
 			throw internalException(e);
 		}
+		if (start != 0) {
+			long end = System.nanoTime();
+			this.markerNanos += end - start;
+			start = end;
+		}
 
 		if (result.hasInconsistentToplevelHierarchies)
 			// ensure that this file is always retrieved from source for the rest of the build
@@ -204,6 +218,8 @@ public void acceptResult(CompilationResult result) {
 					createProblemFor(compilationUnit.resource, null, Messages.build_inconsistentClassFile, JavaCore.ERROR);
 			}
 		}
+		if (start != 0)
+			this.outputNanos += System.nanoTime() - start;
 		if (result.hasAnnotations && this.filesWithAnnotations != null) // only initialized if an annotation processor is attached
 			this.filesWithAnnotations.add(compilationUnit);
 
@@ -296,7 +312,10 @@ protected void compile(SourceFile[] units) {
 		this.filesWithAnnotations.clear();
 
 	// notify CompilationParticipants which source files are about to be compiled
+	long start = BuildTrace.start();
 	CompilationParticipantResult[] participantResults = this.javaBuilder.participants == null ? null : notifyParticipants(units);
+	if (participantResults != null)
+		BuildTrace.end("notify participants", start, "units", Integer.valueOf(units.length)); //$NON-NLS-1$ //$NON-NLS-2$
 	if (participantResults != null && participantResults.length > units.length) {
 		units = new SourceFile[participantResults.length];
 		for (int i = participantResults.length; --i >= 0;)
@@ -347,7 +366,9 @@ protected void compile(SourceFile[] units) {
 			if (participantResults[i] != null)
 				recordParticipantResult(participantResults[i]);
 
+		start = BuildTrace.start();
 		processAnnotations(participantResults);
+		BuildTrace.end("process annotations", start); //$NON-NLS-1$
 	}
 }
 
@@ -376,14 +397,38 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 	}
 	this.nameEnvironment.setNames(initialTypeNames, additionalUnits);
 	this.notifier.checkCancel();
+	long start = BuildTrace.start();
+	this.outputNanos = this.markerNanos = 0;
+	Throwable failure = null; // the exception thrown by the compiler, if any
 	try {
 		this.inCompiler = true;
 		this.compiler.compile(units);
 	} catch (AbortCompilation ignored) {
 		// ignore the AbortCompilcation coming from BuildNotifier.checkCancelWithinCompiler()
 		// the Compiler failed after the user has chose to cancel... likely due to an OutOfMemory error
+	} catch (RuntimeException | Error e) {
+		failure = e;
+		throw e;
 	} finally {
 		this.inCompiler = false;
+		try {
+			long refreshStart = BuildTrace.start();
+			if (this.bulkWrittenFolders != null) {
+				int folders = this.bulkWrittenFolders.size();
+				refreshBulkWrittenFolders();
+				BuildTrace.end("refresh output folders", refreshStart, "folders", Integer.valueOf(folders)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} catch (CoreException e) {
+			// do not hide the exception of the compiler
+			if (failure == null)
+				throw internalException(e);
+			failure.addSuppressed(e);
+		}
+		BuildTrace.end("compile", start, //$NON-NLS-1$
+			"units", Integer.valueOf(units.length), //$NON-NLS-1$
+			"additionalUnits", Integer.valueOf(additionalUnits == null ? 0 : additionalUnits.length), //$NON-NLS-1$
+			"outputWritingMicros", Long.valueOf(this.outputNanos / 1000), //$NON-NLS-1$
+			"markersMicros", Long.valueOf(this.markerNanos / 1000)); //$NON-NLS-1$
 	}
 	// Check for cancel immediately after a compile, because the compiler may
 	// have been cancelled but without propagating the correct exception
@@ -403,6 +448,25 @@ protected void copyResource(IResource source, IResource destination) throws Core
 	Util.setReadOnly(destination, false); // just in case the original was read only
 }
 
+/* Synchronizes the workspace with the class files written directly to the file system,
+* with one refresh per package folder. New class files are marked as derived like the
+* ones created through the resources API.
+*/
+protected void refreshBulkWrittenFolders() throws CoreException {
+	if (this.bulkWrittenFolders == null) return;
+	LinkedHashMap<IContainer, List<IFile>> folders = this.bulkWrittenFolders;
+	this.bulkWrittenFolders = null;
+	for (Map.Entry<IContainer, List<IFile>> entry : folders.entrySet()) {
+		entry.getKey().refreshLocal(IResource.DEPTH_ONE, null);
+		List<IFile> newFiles = entry.getValue();
+		for (int i = 0, l = newFiles.size(); i < l; i++) {
+			IFile file = newFiles.get(i);
+			file.setDerived(true, null);
+			DirectoryListingCache.added(file);
+		}
+	}
+}
+
 protected void createProblemFor(IResource resource, IMember javaElement, String message, String problemSeverity) {
 	try {
 		IMarker marker = resource.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER);
@@ -483,6 +547,7 @@ protected IContainer createFolder(IPath packagePath, IContainer outputFolder) th
 	if (!folder.exists()) {
 		createFolder(packagePath.removeLastSegments(1), outputFolder);
 		folder.create(IResource.FORCE | IResource.DERIVED, true, null);
+		DirectoryListingCache.added(folder);
 	}
 	return folder;
 }
@@ -874,6 +939,7 @@ protected void writeClassFileContents(ClassFile classFile, IFile file, String qu
 //	InputStream input = new SequenceInputStream(
 //			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
 //			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
+	if (writeClassFileBytes(file, classFile.getBytes(), !file.exists())) return;
 	InputStream input = new ByteArrayInputStream(classFile.getBytes());
 	if (file.exists()) {
 		// Deal with shared output folders... last one wins... no collision cases detected
@@ -887,6 +953,34 @@ protected void writeClassFileContents(ClassFile classFile, IFile file, String qu
 		if (JavaBuilder.DEBUG)
 			System.out.println("Writing new class file " + file.getName());//$NON-NLS-1$
 		file.create(input, IResource.FORCE | IResource.DERIVED, null);
+		DirectoryListingCache.added(file);
+	}
+}
+
+/* Writes the class file directly to the file system when bulk output writing is enabled.
+* The workspace is refreshed at the end of the current compile loop.
+* Answers false when the file must be written through the resources API instead.
+*/
+protected boolean writeClassFileBytes(IFile file, byte[] bytes, boolean isNew) {
+	if (!BULK_OUTPUT_WRITING) return false;
+	IPath location = file.getLocation();
+	if (location == null) return false; // not on the local file system
+	java.nio.file.Path path = location.toFile().toPath();
+	if (isNew && Files.exists(path)) return false; // out of sync or a case variant, let the resources API handle it
+	try {
+		Files.write(path, bytes);
+	} catch (IOException e) {
+		return false;
 	}
+	if (JavaBuilder.DEBUG)
+		System.out.println("Writing " + (isNew ? "new" : "changed") + " class file " + file.getName() + " directly"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	if (this.bulkWrittenFolders == null)
+		this.bulkWrittenFolders = new LinkedHashMap<>();
+	List<IFile> newFiles = this.bulkWrittenFolders.get(file.getParent());
+	if (newFiles == null)
+		this.bulkWrittenFolders.put(file.getParent(), newFiles = new ArrayList<>());
+	if (isNew || !file.isDerived())
+		newFiles.add(file);
+	return true;
 }
 }
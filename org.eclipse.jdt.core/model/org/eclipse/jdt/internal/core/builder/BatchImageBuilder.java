@@ -59,12 +59,16 @@ public void build() {
 		if(this.compilationGroup != CompilationGroup.TEST) {
 			JavaBuilder.removeProblemsAndTasksFor(this.javaBuilder.currentProject);
 		}
+		long start = BuildTrace.start();
 		cleanOutputFolders(true);
+		BuildTrace.end("clean output folders", start); //$NON-NLS-1$
 		this.notifier.updateProgressDelta(0.05f);
 
 		this.notifier.subTask(Messages.build_analyzingSources);
+		start = BuildTrace.start();
 		LinkedHashSet<SourceFile> sourceFiles = new LinkedHashSet<>(33);
 		addAllSourceFiles(sourceFiles);
+		BuildTrace.end("find source files", start, "sourceFiles", Integer.valueOf(sourceFiles.size())); //$NON-NLS-1$ //$NON-NLS-2$
 		this.notifier.updateProgressDelta(0.10f);
 
 		if (sourceFiles.size() > 0) {
@@ -111,6 +115,7 @@ protected void cleanOutputFolders(boolean copyBack) throws CoreException {
 		for (int i = 0, l = this.sourceLocations.length; i < l; i++) {
 			this.notifier.subTask(Messages.bind(Messages.build_cleaningOutput, this.javaBuilder.currentProject.getName()));
 			ClasspathMultiDirectory sourceLocation = this.sourceLocations[i];
+			DirectoryListingCache.flush(sourceLocation.binaryFolder.getFullPath());
 			if (sourceLocation.hasIndependentOutputFolder) {
 				IContainer outputFolder = sourceLocation.binaryFolder;
 				if (!visited.contains(outputFolder)) {
@@ -0,0 +1,549 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.jdt.core.IJavaModelMarker;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.env.AccessRule;
+import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
+import org.eclipse.jdt.internal.core.CompilationGroup;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * A local, content addressed cache of build outputs.
+ * <p>
+ * A snapshot of the outputs of a project (class files, problem and task markers, build state) is
+ * recorded after expensive builds, keyed by a digest of everything the compilation depends on:
+ * the contents of the source files, the compiler options, the jars on the classpath and the
+ * snapshot keys of the prerequisite projects. When a later build computes a key which has a snapshot,
+ * the outputs are restored instead of compiling, e.g. when switching back to a previously built branch.
+ * </p><p>
+ * The key also covers the access rules, the external annotations and the module path of the classpath entries,
+ * the charsets the source files are read with, and the build state of a project remembers the key of its snapshot so that dependent projects can compute their key.
+ * Class file contents are stored once in a blob area named by their digest, so snapshots of
+ * similar trees share most of their storage. The cache is disabled unless the system property
+ * <code>jdt.builder.useBuildCache</code> is set, and is never used for projects with compilation participants
+ * since their outputs cannot be derived from the sources alone.
+ * </p>
+ */
+public class BuildCache {
+
+public static boolean ENABLED = Boolean.getBoolean("jdt.builder.useBuildCache"); //$NON-NLS-1$
+public static int MaxSnapshotsPerProject = 4;
+// incremental builds which changed less source or class files are cheaper than restoring/recording a snapshot
+public static int MinChangedSourceFiles = 50;
+public static int MinChangedClassFiles = 50;
+
+static final int VERSION = 1;
+static final byte STRING_VALUE = 1;
+static final byte INTEGER_VALUE = 2;
+static final byte BOOLEAN_VALUE = 3;
+static final int MAX_STRING_VALUE = 0xFFFF / 3; // longest string which always fits in writeUTF()
+static final String[] MARKER_TYPES = {IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, IJavaModelMarker.TASK_MARKER};
+
+public static int MaxDigests = 100000;
+
+// keyed by the full path of a source or class file, remembers its digest for a given modification stamp
+// only the MaxDigests most recently used digests are kept, and only for the current session
+private static Map<String, Digest> Digests = new LinkedHashMap<String, Digest>(16, 0.75f, true) {
+	private static final long serialVersionUID = 1L;
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<String, Digest> eldest) {
+		return size() > MaxDigests;
+	}
+};
+
+JavaBuilder javaBuilder;
+String key;
+int changedSourceFiles; // number of source files whose contents changed since they were last seen
+
+static class Digest {
+	long modificationStamp;
+	String value;
+
+	Digest(long modificationStamp, String value) {
+		this.modificationStamp = modificationStamp;
+		this.value = value;
+	}
+}
+
+private static File cacheLocation() {
+	return JavaCore.getPlugin().getStateLocation().append("buildCache").toFile(); //$NON-NLS-1$
+}
+
+static boolean isEnabledFor(JavaBuilder javaBuilder) {
+	return ENABLED && (javaBuilder.participants == null || javaBuilder.participants.length == 0);
+}
+
+BuildCache(JavaBuilder javaBuilder) {
+	this.javaBuilder = javaBuilder;
+}
+
+/**
+ * Computes the key of the current inputs of the project being built. Answers false if they cannot be
+ * fully described (e.g. a class folder or a prerequisite project without a known key is on the classpath).
+ */
+boolean computeKey() throws CoreException {
+	JavaBuilder javaBuilder = this.javaBuilder;
+	MessageDigest key = newDigest();
+	update(key, Integer.toString(VERSION));
+	update(key, Byte.toString(State.VERSION));
+	update(key, JavaCore.getPlugin().getBundle().getVersion().toString());
+	update(key, javaBuilder.currentProject.getName());
+	final String defaultCharset = javaBuilder.currentProject.getDefaultCharset();
+	update(key, defaultCharset);
+
+	Map<String, String> options = new TreeMap<>(javaBuilder.javaProject.getOptions(true));
+	for (Map.Entry<String, String> option : options.entrySet()) {
+		update(key, option.getKey());
+		update(key, option.getValue());
+	}
+
+	NameEnvironment[] environments = {javaBuilder.nameEnvironment, javaBuilder.testNameEnvironment};
+	Set<IContainer> outputFolders = new HashSet<>();
+	for (NameEnvironment environment : environments)
+		for (ClasspathMultiDirectory sourceLocation : environment.sourceLocations)
+			outputFolders.add(sourceLocation.binaryFolder);
+	for (NameEnvironment environment : environments) {
+		for (ClasspathLocation location : environment.binaryLocations) {
+			String locationKey = locationKey(javaBuilder, location, outputFolders);
+			if (locationKey == null) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("BuildCache: Cannot compute a key because of " + location.debugPathString()); //$NON-NLS-1$
+				return false;
+			}
+			update(key, locationKey);
+		}
+		for (ClasspathMultiDirectory sourceLocation : environment.sourceLocations)
+			updateWithSources(key, sourceLocation, defaultCharset);
+	}
+	this.key = toHex(key.digest());
+	return true;
+}
+
+private static String locationKey(JavaBuilder javaBuilder, ClasspathLocation location, Set<IContainer> outputFolders) {
+	String contentsKey = contentsKey(javaBuilder, location, outputFolders);
+	if (contentsKey == null) return null;
+	AccessRuleSet accessRuleSet;
+	String externalAnnotationPath;
+	if (location instanceof ClasspathDirectory) {
+		accessRuleSet = ((ClasspathDirectory) location).accessRuleSet;
+		externalAnnotationPath = ((ClasspathDirectory) location).externalAnnotationPath;
+	} else if (location instanceof ClasspathJar) {
+		accessRuleSet = ((ClasspathJar) location).accessRuleSet;
+		externalAnnotationPath = ((ClasspathJar) location).externalAnnotationPath;
+	} else {
+		accessRuleSet = ((ClasspathJrt) location).accessRuleSet;
+		externalAnnotationPath = ((ClasspathJrt) location).externalAnnotationPath;
+	}
+	StringBuilder buffer = new StringBuilder(contentsKey);
+	buffer.append(location.isOnModulePath ? "|module" : "|class"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (accessRuleSet != null) {
+		AccessRule[] accessRules = accessRuleSet.getAccessRules();
+		for (int i = 0, l = accessRules.length; i < l; i++)
+			buffer.append('|').append(accessRules[i].problemId).append(':').append(accessRules[i].pattern);
+		buffer.append('|').append(accessRuleSet.classpathEntryType).append(':').append(accessRuleSet.classpathEntryName);
+	}
+	if (externalAnnotationPath != null) {
+		File annotations = new File(externalAnnotationPath);
+		if (!annotations.isFile())
+			return null; // the contents of an annotation folder are not tracked
+		buffer.append("|annotations=").append(externalAnnotationPath).append('@').append(annotations.lastModified()).append('#').append(annotations.length()); //$NON-NLS-1$
+	}
+	return buffer.toString();
+}
+
+private static String contentsKey(JavaBuilder javaBuilder, ClasspathLocation location, Set<IContainer> outputFolders) {
+	if (location instanceof ClasspathDirectory) {
+		ClasspathDirectory directory = (ClasspathDirectory) location;
+		if (outputFolders.contains(directory.binaryFolder))
+			return directory.binaryFolder.getFullPath().toString(); // contents are described by the sources
+		IProject project = directory.binaryFolder.getProject();
+		if (!directory.isOutputFolder || project.equals(javaBuilder.currentProject))
+			return null; // class folders are not tracked
+		State prereqState = javaBuilder.getLastState(project);
+		if (prereqState == null || prereqState.buildCacheKey == null)
+			return null;
+		return directory.binaryFolder.getFullPath().toString() + '=' + prereqState.buildCacheKey;
+	}
+	if (location instanceof ClasspathJar) {
+		ClasspathJar jar = (ClasspathJar) location;
+		return jar.zipFilename + '@' + jar.lastModified() + '#' + new File(jar.zipFilename).length();
+	}
+	if (location instanceof ClasspathJrt) {
+		String zipFilename = ((ClasspathJrt) location).zipFilename;
+		return zipFilename + '@' + new File(zipFilename).lastModified();
+	}
+	return null;
+}
+
+private void updateWithSources(final MessageDigest key, final ClasspathMultiDirectory sourceLocation, final String defaultCharset) throws CoreException {
+	final BuildNotifier notifier = this.javaBuilder.notifier;
+	final char[][] exclusionPatterns = sourceLocation.exclusionPatterns;
+	final char[][] inclusionPatterns = sourceLocation.inclusionPatterns;
+	final TreeMap<String, String> sources = new TreeMap<>();
+	sourceLocation.sourceFolder.accept(
+		new IResourceProxyVisitor() {
+			@Override
+			public boolean visit(IResourceProxy proxy) throws CoreException {
+				if (proxy.getType() == IResource.FILE) {
+					if (Util.isJavaLikeFileName(proxy.getName())) {
+						IPath path = proxy.requestFullPath();
+						if (exclusionPatterns != null || inclusionPatterns != null)
+							if (Util.isExcluded(path, inclusionPatterns, exclusionPatterns, false))
+								return false;
+						IFile file = (IFile) proxy.requestResource();
+						long modificationStamp = proxy.getModificationStamp();
+						synchronized (Digests) {
+							Digest digest = Digests.get(path.toString());
+							if (digest != null && digest.modificationStamp != modificationStamp)
+								BuildCache.this.changedSourceFiles++;
+						}
+						String value = digestOf(file, modificationStamp);
+						String charset = file.getCharset();
+						if (!charset.equals(defaultCharset))
+							value += '|' + charset; // the sources are read with the charset of their file
+						sources.put(path.toString(), value);
+					}
+					return false;
+				}
+				notifier.checkCancel();
+				return true;
+			}
+		},
+		IResource.NONE
+	);
+	update(key, sourceLocation.sourceFolder.getFullPath().toString());
+	update(key, Boolean.toString(sourceLocation.ignoreOptionalProblems));
+	for (Map.Entry<String, String> source : sources.entrySet()) {
+		update(key, source.getKey());
+		update(key, source.getValue());
+	}
+}
+
+static String digestOf(IFile file, long modificationStamp) throws CoreException {
+	String path = file.getFullPath().toString();
+	synchronized (Digests) {
+		Digest digest = Digests.get(path);
+		if (digest != null && digest.modificationStamp == modificationStamp)
+			return digest.value;
+	}
+	MessageDigest contents = newDigest();
+	contents.update(Util.getResourceContentsAsByteArray(file));
+	String value = toHex(contents.digest());
+	synchronized (Digests) {
+		Digests.put(path, new Digest(modificationStamp, value));
+	}
+	return value;
+}
+
+/**
+ * Restores the snapshot recorded for the current key. Answers the restored state, or null if there is no such snapshot.
+ */
+State restore() throws CoreException {
+	JavaBuilder javaBuilder = this.javaBuilder;
+	String cacheKey = this.key;
+	File snapshotFile = snapshotFile(javaBuilder.currentProject, cacheKey);
+	if (!snapshotFile.exists()) return null;
+
+	File blobs = new File(cacheLocation(), "blobs"); //$NON-NLS-1$
+	IWorkspaceRoot root = javaBuilder.workspaceRoot;
+	try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+		if (in.readInt() != VERSION) return null;
+
+		// read everything before touching the output folders so a broken snapshot is a simple miss
+		int length = in.readInt();
+		String[] classFilePaths = new String[length];
+		String[] classFileDigests = new String[length];
+		for (int i = 0; i < length; i++) {
+			classFilePaths[i] = in.readUTF();
+			classFileDigests[i] = in.readUTF();
+			if (!blobFile(blobs, classFileDigests[i]).exists()) return null;
+		}
+		length = in.readInt();
+		String[] markerPaths = new String[length];
+		String[] markerTypes = new String[length];
+		Map[] markerAttributes = new Map[length];
+		for (int i = 0; i < length; i++) {
+			markerPaths[i] = in.readUTF();
+			markerTypes[i] = in.readUTF();
+			markerAttributes[i] = readAttributes(in);
+		}
+		State state = State.read(javaBuilder.currentProject, in);
+		if (state == null) return null;
+
+		if (JavaBuilder.DEBUG)
+			System.out.println("BuildCache: Restoring " + classFilePaths.length + " class files from snapshot " + cacheKey); //$NON-NLS-1$ //$NON-NLS-2$
+		// same clean up as a full build, including copying the extra resources back
+		new BatchImageBuilder(javaBuilder, false, CompilationGroup.MAIN).cleanOutputFolders(true);
+		new BatchImageBuilder(javaBuilder, false, CompilationGroup.TEST).cleanOutputFolders(true);
+		for (int i = 0; i < classFilePaths.length; i++) {
+			javaBuilder.notifier.checkCancel();
+			IFile file = root.getFile(new Path(classFilePaths[i]));
+			byte[] bytes = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(blobFile(blobs, classFileDigests[i]));
+			if (file.exists()) {
+				file.setContents(new ByteArrayInputStream(bytes), true, false, null);
+			} else {
+				createFolders(file.getParent());
+				file.create(new ByteArrayInputStream(bytes), IResource.FORCE | IResource.DERIVED, null);
+				DirectoryListingCache.added(file);
+			}
+		}
+		JavaBuilder.removeProblemsAndTasksFor(javaBuilder.currentProject);
+		for (int i = 0; i < markerPaths.length; i++) {
+			IResource resource = markerPaths[i].length() == 0 ? javaBuilder.currentProject : javaBuilder.currentProject.findMember(markerPaths[i]);
+			if (resource != null)
+				resource.createMarker(markerTypes[i]).setAttributes(markerAttributes[i]);
+		}
+		snapshotFile.setLastModified(System.currentTimeMillis()); // most recently used
+		state.tagAsRestoredFromCache(cacheKey);
+		return state;
+	} catch (IOException e) {
+		Util.log(e, "JavaBuilder could not read build cache snapshot " + snapshotFile); //$NON-NLS-1$
+		return null;
+	}
+}
+
+private static void createFolders(IContainer container) throws CoreException {
+	if (container.getType() == IResource.FOLDER && !container.exists()) {
+		createFolders(container.getParent());
+		((IFolder) container).create(IResource.FORCE | IResource.DERIVED, true, null);
+		DirectoryListingCache.added(container);
+	}
+}
+
+/**
+ * Records a snapshot of the outputs of the project for the current key, unless the last build
+ * was an incremental build which changed too few class files to be worth it.
+ */
+void store(State state) throws CoreException {
+	JavaBuilder javaBuilder = this.javaBuilder;
+	String cacheKey = this.key;
+	boolean wasFullBuild = state.buildNumber == 0;
+	state.buildCacheKey = null; // until the snapshot is recorded
+	File snapshotFile = snapshotFile(javaBuilder.currentProject, cacheKey);
+	if (snapshotFile.exists()) {
+		state.buildCacheKey = cacheKey; // same inputs, so the outputs match the recorded snapshot
+		return;
+	}
+
+	final TreeMap<String, IFile> classFiles = new TreeMap<>();
+	final int[] changed = new int[1];
+	Set<IContainer> visited = new HashSet<>();
+	NameEnvironment[] environments = {javaBuilder.nameEnvironment, javaBuilder.testNameEnvironment};
+	for (NameEnvironment environment : environments) {
+		for (ClasspathMultiDirectory sourceLocation : environment.sourceLocations) {
+			if (!visited.add(sourceLocation.binaryFolder)) continue;
+			sourceLocation.binaryFolder.accept(
+				new IResourceProxyVisitor() {
+					@Override
+					public boolean visit(IResourceProxy proxy) throws CoreException {
+						if (proxy.getType() == IResource.FILE) {
+							if (org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(proxy.getName())) {
+								String path = proxy.requestFullPath().toString();
+								synchronized (Digests) {
+									Digest digest = Digests.get(path);
+									if (digest == null || digest.modificationStamp != proxy.getModificationStamp())
+										changed[0]++;
+								}
+								classFiles.put(path, (IFile) proxy.requestResource());
+							}
+							return false;
+						}
+						return true;
+					}
+				},
+				IResource.NONE
+			);
+		}
+	}
+	if (!wasFullBuild && changed[0] < MinChangedClassFiles) {
+		if (JavaBuilder.DEBUG)
+			System.out.println("BuildCache: Skipped snapshot since only " + changed[0] + " class files changed"); //$NON-NLS-1$ //$NON-NLS-2$
+		return;
+	}
+
+	File blobs = new File(cacheLocation(), "blobs"); //$NON-NLS-1$
+	File tempFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + ".tmp"); //$NON-NLS-1$
+	snapshotFile.getParentFile().mkdirs();
+	try {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(VERSION);
+			out.writeInt(classFiles.size());
+			for (Map.Entry<String, IFile> entry : classFiles.entrySet()) {
+				javaBuilder.notifier.checkCancel();
+				IFile file = entry.getValue();
+				String digest = digestOf(file, file.getModificationStamp());
+				File blob = blobFile(blobs, digest);
+				if (!blob.exists())
+					writeAtomically(blob, Util.getResourceContentsAsByteArray(file));
+				out.writeUTF(entry.getKey());
+				out.writeUTF(digest);
+			}
+			List<IMarker> markers = new ArrayList<>();
+			for (String markerType : MARKER_TYPES)
+				markers.addAll(Arrays.asList(javaBuilder.currentProject.findMarkers(markerType, false, IResource.DEPTH_INFINITE)));
+			out.writeInt(markers.size());
+			for (IMarker marker : markers) {
+				out.writeUTF(marker.getResource().getProjectRelativePath().toString());
+				out.writeUTF(marker.getType());
+				writeAttributes(marker.getAttributes(), out);
+			}
+			state.buildCacheKey = cacheKey;
+			state.write(out);
+		}
+		if (!tempFile.renameTo(snapshotFile)) {
+			tempFile.delete();
+			if (!snapshotFile.exists()) // not written concurrently by another build
+				state.buildCacheKey = null;
+		} else if (JavaBuilder.DEBUG) {
+			System.out.println("BuildCache: Recorded snapshot " + cacheKey + " of " + classFiles.size() + " class files"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	} catch (IOException e) {
+		state.buildCacheKey = null;
+		tempFile.delete();
+		Util.log(e, "JavaBuilder could not write build cache snapshot " + snapshotFile); //$NON-NLS-1$
+		return;
+	}
+	evictSnapshots(snapshotFile.getParentFile(), blobs);
+}
+
+private static void evictSnapshots(File projectFolder, File blobs) {
+	File[] snapshots = projectFolder.listFiles();
+	if (snapshots == null || snapshots.length <= MaxSnapshotsPerProject) return;
+
+	Arrays.sort(snapshots, new Comparator<File>() {
+		@Override
+		public int compare(File f1, File f2) {
+			return Long.compare(f2.lastModified(), f1.lastModified());
+		}
+	});
+	for (int i = MaxSnapshotsPerProject; i < snapshots.length; i++)
+		snapshots[i].delete();
+
+	// collect the blobs which are no longer referenced by any snapshot of any project
+	Set<String> referenced = new HashSet<>();
+	File[] projectFolders = new File(cacheLocation(), "snapshots").listFiles(); //$NON-NLS-1$
+	for (int i = 0, l = projectFolders == null ? 0 : projectFolders.length; i < l; i++) {
+		File[] remaining = projectFolders[i].listFiles();
+		for (int j = 0, m = remaining == null ? 0 : remaining.length; j < m; j++) {
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(remaining[j])))) {
+				if (in.readInt() != VERSION) continue;
+				for (int k = in.readInt(); --k >= 0;) {
+					in.readUTF();
+					referenced.add(in.readUTF());
+				}
+			} catch (IOException e) {
+				return; // be safe and keep all blobs
+			}
+		}
+	}
+	File[] blobFolders = blobs.listFiles();
+	for (int i = 0, l = blobFolders == null ? 0 : blobFolders.length; i < l; i++) {
+		File[] blobFiles = blobFolders[i].listFiles();
+		for (int j = 0, m = blobFiles == null ? 0 : blobFiles.length; j < m; j++)
+			if (!referenced.contains(blobFiles[j].getName()))
+				blobFiles[j].delete();
+	}
+}
+
+private static File blobFile(File blobs, String digest) {
+	return new File(new File(blobs, digest.substring(0, 2)), digest);
+}
+
+private static File snapshotFile(IProject project, String cacheKey) {
+	return new File(new File(new File(cacheLocation(), "snapshots"), project.getName()), cacheKey); //$NON-NLS-1$
+}
+
+private static void writeAtomically(File file, byte[] bytes) throws IOException {
+	file.getParentFile().mkdirs();
+	File tempFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+	try (FileOutputStream out = new FileOutputStream(tempFile)) {
+		out.write(bytes);
+	}
+	if (!tempFile.renameTo(file))
+		tempFile.delete(); // written concurrently by another build
+}
+
+private static Map readAttributes(DataInputStream in) throws IOException {
+	int length = in.readInt();
+	Map attributes = new HashMap(length);
+	for (int i = 0; i < length; i++) {
+		String name = in.readUTF();
+		switch (in.readByte()) {
+			case STRING_VALUE :
+				attributes.put(name, in.readUTF());
+				break;
+			case INTEGER_VALUE :
+				attributes.put(name, Integer.valueOf(in.readInt()));
+				break;
+			case BOOLEAN_VALUE :
+				attributes.put(name, Boolean.valueOf(in.readBoolean()));
+		}
+	}
+	return attributes;
+}
+
+private static void writeAttributes(Map attributes, DataOutputStream out) throws IOException {
+	Map<String, Object> values = new HashMap<>();
+	for (Object entry : attributes.entrySet()) {
+		Map.Entry e = (Map.Entry) entry;
+		Object value = e.getValue();
+		if (value instanceof String ? ((String) value).length() < MAX_STRING_VALUE : value instanceof Integer || value instanceof Boolean)
+			values.put((String) e.getKey(), value);
+	}
+	out.writeInt(values.size());
+	for (Map.Entry<String, Object> entry : values.entrySet()) {
+		out.writeUTF(entry.getKey());
+		Object value = entry.getValue();
+		if (value instanceof String) {
+			out.writeByte(STRING_VALUE);
+			out.writeUTF((String) value);
+		} else if (value instanceof Integer) {
+			out.writeByte(INTEGER_VALUE);
+			out.writeInt(((Integer) value).intValue());
+		} else {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean(((Boolean) value).booleanValue());
+		}
+	}
+}
+
+private static MessageDigest newDigest() {
+	try {
+		return MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+	} catch (NoSuchAlgorithmException e) {
+		throw new IllegalStateException(e);
+	}
+}
+
+private static void update(MessageDigest digest, String value) {
+	digest.update(value.getBytes(StandardCharsets.UTF_8));
+	digest.update((byte) 0);
+}
+
+private static String toHex(byte[] bytes) {
+	char[] hex = new char[bytes.length * 2];
+	for (int i = 0; i < bytes.length; i++) {
+		hex[2 * i] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+		hex[2 * i + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+	}
+	return new String(hex);
+}
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Records a timeline of the Java builds in the Chrome trace event format,
+ * which can be opened in chrome://tracing or in the Perfetto UI.
+ * <p>
+ * Tracing is enabled with <code>-Djdt.builder.trace=&lt;file&gt;</code>. The events of each build
+ * are buffered per thread and appended to the file when the build ends, using the JSON array
+ * format whose closing bracket is optional so that several sessions can share one file.
+ * </p>
+ * <pre>
+ * long start = BuildTrace.start();
+ * ...
+ * BuildTrace.end("find deltas", start, "project", projectName);
+ * </pre>
+ */
+public class BuildTrace {
+
+public static String TRACE_FILE = System.getProperty("jdt.builder.trace"); //$NON-NLS-1$
+
+private static final long ORIGIN_NANOS = System.nanoTime();
+private static final long ORIGIN_MICROS = System.currentTimeMillis() * 1000;
+private static final ThreadLocal<StringBuilder> Events = new ThreadLocal<>();
+
+public static boolean isEnabled() {
+	return TRACE_FILE != null;
+}
+
+/**
+ * Answers the start time of a new event, or 0 when tracing is disabled.
+ */
+public static long start() {
+	return TRACE_FILE == null ? 0 : System.nanoTime();
+}
+
+/**
+ * Records a complete event started at the given time. The arguments are name/value pairs.
+ */
+public static void end(String name, long start, Object... args) {
+	if (start == 0 || TRACE_FILE == null) return;
+	long end = System.nanoTime();
+	StringBuilder events = Events.get();
+	if (events == null)
+		Events.set(events = new StringBuilder(1024));
+	events.append("{\"name\":"); //$NON-NLS-1$
+	appendString(events, name);
+	events.append(",\"cat\":\"jdt.builder\",\"ph\":\"X\",\"ts\":"); //$NON-NLS-1$
+	events.append(ORIGIN_MICROS + (start - ORIGIN_NANOS) / 1000);
+	events.append(",\"dur\":"); //$NON-NLS-1$
+	events.append((end - start) / 1000);
+	events.append(",\"pid\":1,\"tid\":"); //$NON-NLS-1$
+	events.append(Thread.currentThread().getId());
+	if (args.length > 1) {
+		events.append(",\"args\":{"); //$NON-NLS-1$
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (i > 0)
+				events.append(',');
+			appendString(events, String.valueOf(args[i]));
+			events.append(':');
+			Object value = args[i + 1];
+			if (value instanceof Number || value instanceof Boolean)
+				events.append(value);
+			else
+				appendString(events, String.valueOf(value));
+		}
+		events.append('}');
+	}
+	events.append("},\n"); //$NON-NLS-1$
+}
+
+/**
+ * Appends the events recorded by the current thread to the trace file.
+ */
+public static void flush() {
+	StringBuilder events = Events.get();
+	if (events == null || events.length() == 0) return;
+	Events.remove();
+	String fileName = TRACE_FILE;
+	if (fileName == null) return;
+	synchronized (BuildTrace.class) {
+		File file = new File(fileName);
+		boolean isNew = !file.exists() || file.length() == 0;
+		try (OutputStream out = new FileOutputStream(file, true)) {
+			if (isNew)
+				out.write('[');
+			out.write(events.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			Util.log(e, "JavaBuilder could not write build trace to " + fileName); //$NON-NLS-1$
+		}
+	}
+}
+
+private static void appendString(StringBuilder buffer, String value) {
+	buffer.append('"');
+	for (int i = 0, length = value.length(); i < length; i++) {
+		char c = value.charAt(i);
+		switch (c) {
+			case '"' :
+			case '\\' :
+				buffer.append('\\').append(c);
+				break;
+			default :
+				if (c < ' ')
+					buffer.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+				else
+					buffer.append(c);
+		}
+	}
+	buffer.append('"');
+}
+}
@@ -94,6 +94,17 @@ String[] directoryList(String qualifiedPackageName) {
 	if (dirList == this.missingPackageHolder) return null; // package exists in another classpath directory or jar
 	if (dirList != null) return dirList;
 
+	IPath folderPath = this.binaryFolder.getFullPath().append(qualifiedPackageName);
+	dirList = DirectoryListingCache.get(folderPath);
+	if (dirList != null) {
+		if (dirList == DirectoryListingCache.MISSING) {
+			this.directoryCache.put(qualifiedPackageName, this.missingPackageHolder);
+			return null;
+		}
+		this.directoryCache.put(qualifiedPackageName, dirList);
+		return dirList;
+	}
+
 	try {
 		IResource container = this.binaryFolder.findMember(qualifiedPackageName); // this is a case-sensitive check
 		if (container instanceof IContainer) {
@@ -111,8 +122,10 @@ String[] directoryList(String qualifiedPackageName) {
 			if (index < dirList.length)
 				System.arraycopy(dirList, 0, dirList = new String[index], 0, index);
 			this.directoryCache.put(qualifiedPackageName, dirList);
+			DirectoryListingCache.put(folderPath, dirList);
 			return dirList;
 		}
+		DirectoryListingCache.put(folderPath, DirectoryListingCache.MISSING);
 	} catch(CoreException ignored) {
 		// ignore
 	}
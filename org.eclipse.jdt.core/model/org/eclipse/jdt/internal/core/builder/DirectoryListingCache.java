@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Caches the .class file names of the binary folders read by {@link ClasspathDirectory} across builds.
+ * <p>
+ * Listings are kept up to date from the resource deltas seen by the <code>DeltaProcessor</code>
+ * and from the changes the builders make to their output folders, so an incremental build
+ * only calls <code>IContainer.members()</code> for folders it has never seen before.
+ * </p>
+ */
+public class DirectoryListingCache {
+
+public static boolean ENABLED = !Boolean.getBoolean("jdt.builder.disableDirectoryListingCache"); //$NON-NLS-1$
+public static int MaxEntries = 10000;
+
+static final String[] MISSING = new String[0]; // the folder does not exist
+
+private static final HashMap<IPath, String[]> Listings = new HashMap<>();
+
+/**
+ * Returns the cached .class file names of the given folder, <code>MISSING</code> if the folder
+ * is known not to exist or <code>null</code> if the folder is not cached.
+ */
+static synchronized String[] get(IPath folderPath) {
+	return Listings.get(folderPath);
+}
+
+static synchronized void put(IPath folderPath, String[] fileNames) {
+	if (!ENABLED) return;
+	if (Listings.size() >= MaxEntries)
+		Listings.clear();
+	Listings.put(folderPath, fileNames);
+}
+
+/**
+ * Records that the given resource was created, either by a builder or as reported by a resource delta.
+ */
+static synchronized void added(IResource resource) {
+	if (Listings.isEmpty()) return;
+	if (resource.getType() == IResource.FILE) {
+		String name = resource.getName();
+		if (!org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(name)) return;
+		IPath folderPath = resource.getFullPath().removeLastSegments(1);
+		String[] fileNames = Listings.get(folderPath);
+		if (fileNames == null) return;
+		if (fileNames == MISSING) {
+			Listings.remove(folderPath);
+			return;
+		}
+		for (int i = fileNames.length; --i >= 0;)
+			if (name.equals(fileNames[i])) return;
+		int length = fileNames.length;
+		System.arraycopy(fileNames, 0, fileNames = new String[length + 1], 0, length);
+		fileNames[length] = name;
+		Listings.put(folderPath, fileNames); // never change an array handed out to a ClasspathDirectory
+	} else if (Listings.get(resource.getFullPath()) == MISSING) {
+		Listings.remove(resource.getFullPath());
+	}
+}
+
+/**
+ * Records that the given resource was deleted, either by a builder or as reported by a resource delta.
+ */
+static synchronized void removed(IResource resource) {
+	if (Listings.isEmpty()) return;
+	if (resource.getType() == IResource.FILE) {
+		String name = resource.getName();
+		if (!org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(name)) return;
+		IPath folderPath = resource.getFullPath().removeLastSegments(1);
+		String[] fileNames = Listings.get(folderPath);
+		if (fileNames == null || fileNames == MISSING) return;
+		for (int i = fileNames.length; --i >= 0;) {
+			if (name.equals(fileNames[i])) {
+				int length = fileNames.length;
+				String[] newFileNames = new String[length - 1];
+				System.arraycopy(fileNames, 0, newFileNames, 0, i);
+				System.arraycopy(fileNames, i + 1, newFileNames, i, length - i - 1);
+				Listings.put(folderPath, newFileNames);
+				return;
+			}
+		}
+	} else {
+		flush(resource.getFullPath());
+	}
+}
+
+/**
+ * Forgets the listings of the given folder and of all its sub folders.
+ */
+public static synchronized void flush(IPath folderPath) {
+	if (Listings.isEmpty()) return;
+	for (Iterator<IPath> iterator = Listings.keySet().iterator(); iterator.hasNext();)
+		if (folderPath.isPrefixOf(iterator.next()))
+			iterator.remove();
+}
+
+public static synchronized void flushAll() {
+	Listings.clear();
+}
+
+/**
+ * Updates the cached listings from the given workspace delta.
+ */
+public static void update(IResourceDelta delta) {
+	if (delta == null) return;
+	synchronized (DirectoryListingCache.class) {
+		if (Listings.isEmpty()) return;
+	}
+	try {
+		delta.accept(new IResourceDeltaVisitor() {
+			@Override
+			public boolean visit(IResourceDelta child) {
+				IResource resource = child.getResource();
+				switch (child.getKind()) {
+					case IResourceDelta.ADDED :
+						added(resource);
+						return resource.getType() != IResource.FILE;
+					case IResourceDelta.REMOVED :
+						removed(resource);
+						return false;
+					case IResourceDelta.CHANGED :
+						if ((child.getFlags() & (IResourceDelta.OPEN | IResourceDelta.REPLACED)) != 0) {
+							flush(resource.getFullPath()); // project closed or reopened, or folder replaced
+							return false;
+						}
+						return resource.getType() != IResource.FILE;
+				}
+				return true;
+			}
+		});
+	} catch (CoreException e) {
+		flushAll();
+	}
+}
+}
@@ -46,8 +46,12 @@ protected boolean hasStructuralChanges;
 protected boolean makeOutputFolderConsistent;
 
 private IncrementalImageBuilder testImageBuilder;
+// dependents compiled ahead of time in the first compile loop, see addSpeculativeSourceFiles()
+protected Set<SourceFile> speculativeSourceFiles;
+private boolean unitHasStructuralChanges;
 
 public static int MaxCompileLoop = 5; // perform a full build if it takes more than ? incremental compile loops
+public static int MaxSpeculativeUnits = 50; // compile at most ? predicted dependents in the first compile loop, 0 to disable
 
 protected IncrementalImageBuilder(JavaBuilder javaBuilder, State buildState, CompilationGroup compilationGroup) {
 	super(javaBuilder, true, buildState, compilationGroup);
@@ -98,6 +102,7 @@ public boolean build(SimpleLookupTable deltas) {
 	try {
 		resetCollections();
 
+		long start = BuildTrace.start();
 		this.notifier.subTask(Messages.build_analyzingDeltas);
 		if (this.javaBuilder.hasBuildpathErrors()) {
 			// if a missing class file was detected in the last build, a build state was saved since its no longer fatal
@@ -134,8 +139,10 @@ public boolean build(SimpleLookupTable deltas) {
 
 			this.notifier.subTask(Messages.build_analyzingSources);
 			addAffectedSourceFiles();
+			addSpeculativeSourceFiles();
 			this.notifier.updateProgressDelta(0.05f);
 		}
+		BuildTrace.end("analyze deltas", start, "sourceFiles", Integer.valueOf(this.sourceFiles.size())); //$NON-NLS-1$ //$NON-NLS-2$
 
 		if (incrementalBuildLoop() == false) {
 			return false;
@@ -177,12 +184,15 @@ private boolean incrementalBuildLoop() throws CoreException {
 		this.sourceFiles.toArray(allSourceFiles);
 		resetCollections();
 
+		long start = BuildTrace.start();
 		this.workQueue.addAll(allSourceFiles);
 		this.notifier.setProgressPerCompilationUnit(increment / allSourceFiles.length);
 		increment = increment / 2;
 		compile(allSourceFiles);
+		this.speculativeSourceFiles = null;
 		removeSecondaryTypes();
 		addAffectedSourceFiles();
+		BuildTrace.end("compile loop", start, "loop", Integer.valueOf(compileLoop), "units", Integer.valueOf(allSourceFiles.length)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	}
 	return true;
 }
@@ -258,6 +268,99 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 	}
 }
 
+/*
+* Predicts which dependents the first compile loop will find, so they can be compiled in the same loop
+* instead of requiring another one. The prediction assumes that a source file whose last compilation
+* changed it structurally is being changed structurally again, and is limited to MaxSpeculativeUnits.
+* The result of a predicted dependent is dropped in acceptResult() when none of the types it references
+* turn out to be structurally changed.
+*/
+protected void addSpeculativeSourceFiles() {
+	if (MaxSpeculativeUnits <= 0 || this.newState.structurallyChangedSources == null || this.sourceFiles.isEmpty()) return;
+	if (this.javaBuilder.participants != null) return; // participants would see the units whose result is dropped
+	if (this.javaBuilder.javaProject.hasCycleMarker()) return; // keep the compile order of cycle builds
+
+	Set<String> qualifiedNames = new HashSet<>(3);
+	Set<String> simpleNames = new HashSet<>(3);
+	Set<String> rootNames = new HashSet<>(3);
+	for (SourceFile sourceFile : this.sourceFiles) {
+		String typeLocator = sourceFile.typeLocator();
+		if (!this.newState.structurallyChangedSources.contains(typeLocator)) continue;
+
+		int count = sourceFile.sourceLocation.sourceFolder.getFullPath().segmentCount();
+		IPath packagePath = sourceFile.resource.getFullPath().removeFirstSegments(count).removeLastSegments(1);
+		char[][] definedTypeNames = this.newState.getDefinedTypeNamesFor(typeLocator);
+		if (definedTypeNames == null)
+			definedTypeNames = new char[][] {sourceFile.getMainTypeName()};
+		for (int i = 0, l = definedTypeNames.length; i < l; i++)
+			addDependentsOf(packagePath.append(new String(definedTypeNames[i])), false, qualifiedNames, simpleNames, rootNames);
+	}
+	if (simpleNames.isEmpty()) return;
+
+	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedNames);
+	if (internedQualifiedNames.length < qualifiedNames.size())
+		return; // a well known name was changed, too many dependents to predict
+	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(simpleNames, true);
+	if (internedSimpleNames.length < simpleNames.size())
+		return;
+	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootNames, false);
+
+	LinkedHashSet<SourceFile> predicted = new LinkedHashSet<>();
+	Object[] keyTable = this.newState.references.keyTable;
+	Object[] valueTable = this.newState.references.valueTable;
+	for (int i = 0, l = valueTable.length; i < l; i++) {
+		String typeLocator = (String) keyTable[i];
+		if (typeLocator != null) {
+			ReferenceCollection refs = (ReferenceCollection) valueTable[i];
+			if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
+				SourceFile sourceFile = findSourceFile(this.javaBuilder.currentProject.getFile(typeLocator), true);
+				if (sourceFile == null || this.sourceFiles.contains(sourceFile)) continue;
+				if (predicted.size() == MaxSpeculativeUnits) return; // too many to compile ahead of time
+				predicted.add(sourceFile);
+			}
+		}
+	}
+	if (predicted.isEmpty()) return;
+
+	if (JavaBuilder.DEBUG)
+		System.out.println("  adding " + predicted.size() + " predicted dependents"); //$NON-NLS-1$ //$NON-NLS-2$
+	this.sourceFiles.addAll(predicted); // after the changed source files so their results are accepted first
+	this.speculativeSourceFiles = predicted;
+}
+
+@Override
+public void acceptResult(CompilationResult result) {
+	if (this.speculativeSourceFiles != null && this.speculativeSourceFiles.remove(result.getCompilationUnit())) {
+		SourceFile sourceFile = (SourceFile) result.getCompilationUnit();
+		if (!isAffectedByStructuralChanges(sourceFile)) {
+			// wrong prediction so drop the result, the previous class files & problems are still valid
+			if (JavaBuilder.DEBUG)
+				System.out.println("Dropping result of predicted dependent " + sourceFile.typeLocator()); //$NON-NLS-1$
+			this.workQueue.finished(sourceFile);
+			if (this.previousSourceFiles != null)
+				this.previousSourceFiles.remove(sourceFile); // it can still be affected by a type compiled after it
+			this.compiler.lookupEnvironment.releaseClassFiles(result.getClassFiles());
+			this.notifier.compiled(sourceFile);
+			return;
+		}
+	}
+	super.acceptResult(result);
+}
+
+protected boolean isAffectedByStructuralChanges(SourceFile sourceFile) {
+	if (this.qualifiedStrings.isEmpty() && this.simpleStrings.isEmpty()) return false;
+	ReferenceCollection refs = (ReferenceCollection) this.newState.references.get(sourceFile.typeLocator());
+	if (refs == null) return true;
+	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(this.qualifiedStrings);
+	if (internedQualifiedNames.length < this.qualifiedStrings.size())
+		internedQualifiedNames = null;
+	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(this.simpleStrings, true);
+	if (internedSimpleNames.length < this.simpleStrings.size())
+		internedSimpleNames = null;
+	char[][] internedRootNames = ReferenceCollection.internSimpleNames(this.rootStrings, false);
+	return refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames);
+}
+
 protected void addDependentsOf(IPath path, boolean isStructuralChange) {
 	addDependentsOf(path, isStructuralChange, this.qualifiedStrings, this.simpleStrings, this.rootStrings);
 }
@@ -616,8 +719,10 @@ protected boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDire
 						JavaBuilder.removeProblemsAndTasksFor(movedFolder);
 					}
 					IFolder removedPackageFolder = md.binaryFolder.getFolder(removedPackagePath);
-					if (removedPackageFolder.exists())
+					if (removedPackageFolder.exists()) {
 						removedPackageFolder.delete(IResource.FORCE, null);
+						DirectoryListingCache.removed(removedPackageFolder);
+					}
 					// add dependents even when the package thinks it does not exist to be on the safe side
 					if (JavaBuilder.DEBUG)
 						System.out.println("Found removed package " + removedPackagePath); //$NON-NLS-1$
@@ -736,6 +841,15 @@ protected boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDire
 
 @Override
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
+	// remember which source files changed structurally to predict the dependents of their next change
+	if (this.unitHasStructuralChanges) {
+		this.unitHasStructuralChanges = false;
+		if (this.newState.structurallyChangedSources == null)
+			this.newState.structurallyChangedSources = new HashSet<>(3);
+		this.newState.structurallyChangedSources.add(sourceLocator);
+	} else if (this.newState.structurallyChangedSources != null) {
+		this.newState.structurallyChangedSources.remove(sourceLocator);
+	}
 	char[][] previousTypeNames = this.newState.getDefinedTypeNamesFor(sourceLocator);
 	if (previousTypeNames == null)
 		previousTypeNames = new char[][] {mainTypeName};
@@ -798,6 +912,7 @@ protected void removeClassFile(IPath typePath, IContainer outputFolder) throws C
 		if (JavaBuilder.DEBUG)
 			System.out.println("Deleting class file of removed type " + typePath); //$NON-NLS-1$
 		classFile.delete(IResource.FORCE, null);
+		DirectoryListingCache.removed(classFile);
 	}
 }
 
@@ -879,6 +994,7 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 	byte[] bytes = classfile.getBytes();
 	if (file.exists()) {
 		if (writeClassFileCheck(file, qualifiedFileName, bytes) || compilationUnit.updateClassFile) { // see 46093
+			if (writeClassFileBytes(file, bytes, false)) return;
 			if (JavaBuilder.DEBUG)
 				System.out.println("Writing changed class file " + file.getName());//$NON-NLS-1$
 			if (!file.isDerived())
@@ -888,12 +1004,16 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 			System.out.println("Skipped over unchanged class file " + file.getName());//$NON-NLS-1$
 		}
 	} else {
-		if (isTopLevelType)
+		if (isTopLevelType) {
 			addDependentsOf(new Path(qualifiedFileName), true); // new type
+			this.unitHasStructuralChanges = true;
+		}
+		if (writeClassFileBytes(file, bytes, true)) return;
 		if (JavaBuilder.DEBUG)
 			System.out.println("Writing new class file " + file.getName());//$NON-NLS-1$
 		try {
 			file.create(new ByteArrayInputStream(bytes), IResource.FORCE | IResource.DERIVED, null);
+			DirectoryListingCache.added(file);
 		} catch (CoreException e) {
 			if (e.getStatus().getCode() == IResourceStatus.CASE_VARIANT_EXISTS) {
 				IStatus status = e.getStatus();
@@ -916,9 +1036,11 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 						// file is defined by the same compilationUnit, but won't be deleted until later so do it now
 						IFile collision = file.getParent().getFile(new Path(oldFilePath.lastSegment()));
 						collision.delete(true, false, null);
+						DirectoryListingCache.removed(collision);
 						boolean success = false;
 						try {
 							file.create(new ByteArrayInputStream(bytes), IResource.FORCE | IResource.DERIVED, null);
+							DirectoryListingCache.added(file);
 							success = true;
 						} catch (CoreException ignored) {
 							// ignore the second exception
@@ -947,15 +1069,18 @@ protected boolean writeClassFileCheck(IFile file, String fileName, byte[] newByt
 		String filePath = location.getSchemeSpecificPart();
 		ClassFileReader reader = new ClassFileReader(oldBytes, filePath.toCharArray());
 		// ignore local types since they're only visible inside a single method
-		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
+		// and private methods since they cannot be referenced outside this compilation unit
+		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes, true, true, true)) {
 			if (JavaBuilder.DEBUG)
-				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
+				System.out.println("Type has structural changes, other than to its private methods, " + fileName); //$NON-NLS-1$
 			addDependentsOf(new Path(fileName), true);
 			this.newState.wasStructurallyChanged(fileName);
+			this.unitHasStructuralChanges = true;
 		}
 	} catch (ClassFormatException e) {
 		addDependentsOf(new Path(fileName), true);
 		this.newState.wasStructurallyChanged(fileName);
+		this.unitHasStructuralChanges = true;
 	}
 	return true;
 }
@@ -36,6 +36,7 @@ NameEnvironment testNameEnvironment;
 SimpleLookupTable binaryLocationsPerProject; // maps a project to its binary resources (output folders, class folders, zip/jar files)
 public State lastState;
 BuildNotifier notifier;
+BuildCache buildCache;
 char[][] extraResourceFileFilters;
 String[] extraResourceFolderFilters;
 public static final String SOURCE_ID = "JDT"; //$NON-NLS-1$
@@ -152,7 +153,10 @@ public static State readState(IProject project, DataInputStream in) throws IOExc
 }
 
 public static void writeState(Object state, DataOutputStream out) throws IOException {
+	long start = BuildTrace.start();
 	((State) state).write(out);
+	BuildTrace.end("save state", start, "project", ((State) state).javaProjectName); //$NON-NLS-1$ //$NON-NLS-2$
+	BuildTrace.flush();
 }
 
 @Override
@@ -163,14 +167,23 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 	if (DEBUG)
 		System.out.println("\nJavaBuilder: Starting build of " + this.currentProject.getName() //$NON-NLS-1$
 			+ " @ " + new Date(System.currentTimeMillis())); //$NON-NLS-1$
+	long buildStart = BuildTrace.start();
+	int requestedKind = kind;
 	this.notifier = new BuildNotifier(monitor, this.currentProject);
 	this.notifier.begin();
 	boolean ok = false;
 	try {
 		this.notifier.checkCancel();
+		long start = BuildTrace.start();
 		kind = initializeBuilder(kind, true);
+		BuildTrace.end("initialize builder", start); //$NON-NLS-1$
 
 		if (isWorthBuilding()) {
+			if (BuildCache.isEnabledFor(this)) {
+				this.buildCache = new BuildCache(this);
+				if (!this.buildCache.computeKey())
+					this.buildCache = null;
+			}
 			if (kind == FULL_BUILD) {
 				if (DEBUG)
 					System.out.println("JavaBuilder: Performing full build as requested"); //$NON-NLS-1$
@@ -188,7 +201,9 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 					buildAll();
 				} else if (this.nameEnvironment.sourceLocations.length > 0) {
 					// if there is no source to compile & no classpath changes then we are done
+					long deltasStart = BuildTrace.start();
 					SimpleLookupTable deltas = findDeltas();
+					BuildTrace.end("find deltas", deltasStart); //$NON-NLS-1$
 					if (deltas == null) {
 						if (DEBUG)
 							System.out.println("JavaBuilder: Performing full build since deltas are missing after incremental request"); //$NON-NLS-1$
@@ -210,6 +225,14 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 					}
 				}
 			}
+			if (this.buildCache != null) {
+				State newState = getLastState(this.currentProject);
+				if (newState != null) {
+					long storeStart = BuildTrace.start();
+					this.buildCache.store(newState);
+					BuildTrace.end("store build cache", storeStart); //$NON-NLS-1$
+				}
+			}
 			ok = true;
 		}
 	} catch (CoreException e) {
@@ -240,6 +263,8 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 			clearLastState();
 		this.notifier.done();
 		cleanup();
+		BuildTrace.end("build", buildStart, "project", this.currentProject.getName(), "kind", Integer.valueOf(requestedKind), "ok", Boolean.valueOf(ok)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		BuildTrace.flush();
 	}
 	IProject[] requiredProjects = getRequiredProjects(true);
 	if (DEBUG)
@@ -254,6 +279,9 @@ private void buildAll() {
 	if (DEBUG && this.lastState != null)
 		System.out.println("JavaBuilder: Clearing last state : " + this.lastState); //$NON-NLS-1$
 	clearLastState();
+	if (restoreFromBuildCache())
+		return;
+	long start = BuildTrace.start();
 	BatchImageBuilder imageBuilder = new BatchImageBuilder(this, true, CompilationGroup.MAIN);
 	BatchImageBuilder testImageBuilder = new BatchImageBuilder(imageBuilder, true, CompilationGroup.TEST);
 	imageBuilder.build();
@@ -264,6 +292,7 @@ private void buildAll() {
 		testImageBuilder.cleanUp();
 	}
 	recordNewState(imageBuilder.newState);
+	BuildTrace.end("full build", start); //$NON-NLS-1$
 }
 
 private void buildDeltas(SimpleLookupTable deltas) {
@@ -272,8 +301,13 @@ private void buildDeltas(SimpleLookupTable deltas) {
 	if (DEBUG && this.lastState != null)
 		System.out.println("JavaBuilder: Clearing last state : " + this.lastState); //$NON-NLS-1$
 	clearLastState(); // clear the previously built state so if the build fails, a full build will occur next time
+	if (this.buildCache != null && this.buildCache.changedSourceFiles >= BuildCache.MinChangedSourceFiles && restoreFromBuildCache())
+		return;
+	long start = BuildTrace.start();
 	IncrementalImageBuilder imageBuilder = new IncrementalImageBuilder(this);
-	if (imageBuilder.build(deltas)) {
+	boolean succeeded = imageBuilder.build(deltas);
+	BuildTrace.end("incremental build", start, "succeeded", Boolean.valueOf(succeeded)); //$NON-NLS-1$ //$NON-NLS-2$
+	if (succeeded) {
 		recordNewState(imageBuilder.newState);
 	} else {
 		if (DEBUG)
@@ -290,6 +324,7 @@ protected void clean(IProgressMonitor monitor) throws CoreException {
 	if (DEBUG)
 		System.out.println("\nJavaBuilder: Cleaning " + this.currentProject.getName() //$NON-NLS-1$
 			+ " @ " + new Date(System.currentTimeMillis())); //$NON-NLS-1$
+	long start = BuildTrace.start();
 	this.notifier = new BuildNotifier(monitor, this.currentProject);
 	this.notifier.begin();
 	try {
@@ -308,6 +343,8 @@ protected void clean(IProgressMonitor monitor) throws CoreException {
 	} finally {
 		this.notifier.done();
 		cleanup();
+		BuildTrace.end("clean", start, "project", this.currentProject.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		BuildTrace.flush();
 	}
 	if (DEBUG)
 		System.out.println("JavaBuilder: Finished cleaning " + this.currentProject.getName() //$NON-NLS-1$
@@ -339,6 +376,7 @@ private void createInconsistentBuildMarker(CoreException coreException) throws C
 
 private void cleanup() {
 	this.participants = null;
+	this.buildCache = null;
 	this.nameEnvironment = null;
 	this.binaryLocationsPerProject = null;
 	this.lastState = null;
@@ -430,7 +468,10 @@ private SimpleLookupTable findDeltas() {
 }
 
 public State getLastState(IProject project) {
-	return (State) JavaModelManager.getJavaModelManager().getLastBuiltState(project, this.notifier.monitor);
+	long start = BuildTrace.start();
+	State state = (State) JavaModelManager.getJavaModelManager().getLastBuiltState(project, this.notifier.monitor);
+	BuildTrace.end("load state", start, "project", project.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+	return state;
 }
 
 /* Return the list of projects for which it requires a resource delta. This builder's project
@@ -774,7 +815,24 @@ private void printLocations(ClasspathLocation[] newLocations, ClasspathLocation[
 		System.out.println("    " + oldLocations[i].debugPathString()); //$NON-NLS-1$
 }
 
+private boolean restoreFromBuildCache() {
+	if (this.buildCache == null) return false;
+	try {
+		long start = BuildTrace.start();
+		State state = this.buildCache.restore();
+		BuildTrace.end("restore build cache", start, "restored", Boolean.valueOf(state != null)); //$NON-NLS-1$ //$NON-NLS-2$
+		if (state == null) return false;
+		if (DEBUG)
+			System.out.println("JavaBuilder: Restored outputs from build cache instead of building"); //$NON-NLS-1$
+		recordNewState(state);
+		return true;
+	} catch (CoreException e) {
+		throw new ImageBuilderInternalException(e);
+	}
+}
+
 private void recordNewState(State state) {
+	long start = BuildTrace.start();
 	Object[] keyTable = this.binaryLocationsPerProject.keyTable;
 	for (int i = 0, l = keyTable.length; i < l; i++) {
 		IProject prereqProject = (IProject) keyTable[i];
@@ -786,6 +844,7 @@ private void recordNewState(State state) {
 		System.out.println("JavaBuilder: Recording new state : " + state); //$NON-NLS-1$
 	// state.dump();
 	JavaModelManager.getJavaModelManager().setLastBuiltState(this.currentProject, state);
+	BuildTrace.end("record state", start); //$NON-NLS-1$
 }
 
 /**
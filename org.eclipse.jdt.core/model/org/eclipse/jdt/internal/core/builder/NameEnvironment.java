@@ -445,6 +445,7 @@ public void cleanup() {
 private void createOutputFolder(IContainer outputFolder) throws CoreException {
 	createParentFolder(outputFolder.getParent());
 	((IFolder) outputFolder).create(IResource.FORCE | IResource.DERIVED, true, null);
+	DirectoryListingCache.added(outputFolder);
 }
 
 private void createParentFolder(IContainer parent) throws CoreException {
@@ -22,10 +22,17 @@ char[][][] qualifiedNameReferences; // contains no simple names as in just 'a' w
 char[][] simpleNameReferences;
 char[][] rootReferences;
 
+// Bloom filters over the identities of the interned references above, used to quickly reject
+// names which are not referenced without walking the arrays (most sources never match)
+long[] qualifiedNameFilter;
+long[] simpleNameFilter;
+long[] rootFilter;
+
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
 	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
 	this.rootReferences = internSimpleNames(rootReferences, false);
+	computeFilters();
 }
 
 public void addDependencies(String[] typeNameDependencies) {
@@ -44,15 +51,18 @@ public void addDependencies(String[] typeNameDependencies) {
 				int length = this.simpleNameReferences.length;
 				System.arraycopy(this.simpleNameReferences, 0, this.simpleNameReferences = new char[length + 1][], 0, length);
 				this.simpleNameReferences[length] = qualifiedTypeName[qualifiedTypeName.length - 1];
+				this.simpleNameFilter = addToFilter(this.simpleNameFilter, this.simpleNameReferences);
 			}
 			if (!insideRoot(qualifiedTypeName[0])) {
 				int length = this.rootReferences.length;
 				System.arraycopy(this.rootReferences, 0, this.rootReferences = new char[length + 1][], 0, length);
 				this.rootReferences[length] = qualifiedTypeName[0];
+				this.rootFilter = addToFilter(this.rootFilter, this.rootReferences);
 			}
 			int length = this.qualifiedNameReferences.length;
 			System.arraycopy(this.qualifiedNameReferences, 0, this.qualifiedNameReferences = new char[length + 1][][], 0, length);
 			this.qualifiedNameReferences[length] = qualifiedTypeName;
+			this.qualifiedNameFilter = addToFilter(this.qualifiedNameFilter, this.qualifiedNameReferences);
 
 			qualifiedTypeName = CharOperation.subarray(qualifiedTypeName, 0, qualifiedTypeName.length - 1);
 			char[][][] temp = internQualifiedNames(new char[][][] {qualifiedTypeName}, false);
@@ -63,13 +73,21 @@ public void addDependencies(String[] typeNameDependencies) {
 	}
 }
 
+private void computeFilters() {
+	this.qualifiedNameFilter = newFilter(this.qualifiedNameReferences);
+	this.simpleNameFilter = newFilter(this.simpleNameReferences);
+	this.rootFilter = newFilter(this.rootReferences);
+}
+
 public boolean includes(char[] simpleName) {
+	if (!mightContain(this.simpleNameFilter, simpleName)) return false;
 	for (int i = 0, l = this.simpleNameReferences.length; i < l; i++)
 		if (simpleName == this.simpleNameReferences[i]) return true;
 	return false;
 }
 
 public boolean includes(char[][] qualifiedName) {
+	if (!mightContain(this.qualifiedNameFilter, qualifiedName)) return false;
 	for (int i = 0, l = this.qualifiedNameReferences.length; i < l; i++)
 		if (qualifiedName == this.qualifiedNameReferences[i]) return true;
 	return false;
@@ -154,11 +172,49 @@ public boolean includes(char[][][] qualifiedNames, char[][] simpleNames, char[][
 }
 
 public boolean insideRoot(char[] rootName) {
+	if (!mightContain(this.rootFilter, rootName)) return false;
 	for (int i = 0, l = this.rootReferences.length; i < l; i++)
 		if (rootName == this.rootReferences[i]) return true;
 	return false;
 }
 
+// names are interned so their identity hash is used, with 2 probes & 8 bits per name (~5% false positives)
+static long[] newFilter(Object[] names) {
+	int length = names.length;
+	int bits = 64;
+	while (bits < length * 8)
+		bits <<= 1;
+	long[] filter = new long[bits >>> 6];
+	for (int i = 0; i < length; i++)
+		setBits(filter, names[i]);
+	return filter;
+}
+
+// adds the last of the given names to the filter, so that names appended one by one are found by the following lookups
+static long[] addToFilter(long[] filter, Object[] names) {
+	if ((filter.length << 6) < names.length * 8)
+		return newFilter(names); // too full, grow it
+	setBits(filter, names[names.length - 1]);
+	return filter;
+}
+
+private static void setBits(long[] filter, Object name) {
+	int hash = System.identityHashCode(name);
+	int mask = (filter.length << 6) - 1;
+	int bit = hash & mask;
+	filter[bit >>> 6] |= 1L << bit;
+	bit = ((hash >>> 16) ^ (hash * 0x9E3779B9)) & mask;
+	filter[bit >>> 6] |= 1L << bit;
+}
+
+static boolean mightContain(long[] filter, Object name) {
+	int hash = System.identityHashCode(name);
+	int mask = (filter.length << 6) - 1;
+	int bit = hash & mask;
+	if ((filter[bit >>> 6] & (1L << bit)) == 0) return false;
+	bit = ((hash >>> 16) ^ (hash * 0x9E3779B9)) & mask;
+	return (filter[bit >>> 6] & (1L << bit)) != 0;
+}
 
 // When any type is compiled, its methods are verified for certain problems
 // the MethodVerifier requests 3 well known types which end up in the reference collection
@@ -47,6 +47,8 @@ public SimpleLookupTable typeLocators;
 int buildNumber;
 long lastStructuralBuildTime;
 SimpleLookupTable structuralBuildTimes;
+String buildCacheKey; // key of the BuildCache snapshot matching this state, or null
+Set<String> structurallyChangedSources; // locators of the source files whose last incremental compile changed them structurally, not persisted
 
 private String[] knownPackageNames; // of the form "p1/p2"
 
@@ -54,7 +56,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x001F;
+public static final byte VERSION = 0x0020;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -96,6 +98,7 @@ void copyFrom(State lastState) {
 	this.buildNumber = lastState.buildNumber + 1;
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
+	this.structurallyChangedSources = lastState.structurallyChangedSources == null ? null : new HashSet<>(lastState.structurallyChangedSources);
 
 	try {
 		this.references = (SimpleLookupTable) lastState.references.clone();
@@ -249,6 +252,8 @@ static State read(IProject project, DataInputStream in) throws IOException {
 	}
 	newState.buildNumber = in.readInt();
 	newState.lastStructuralBuildTime = in.readLong();
+	String buildCacheKey = in.readUTF();
+	if (buildCacheKey.length() > 0) newState.buildCacheKey = buildCacheKey;
 
 	int length = in.readInt();
 	newState.sourceLocations = new ClasspathMultiDirectory[length];
@@ -467,6 +472,12 @@ void tagAsStructurallyChanged() {
 	this.lastStructuralBuildTime = computeStructuralBuildTime(this.previousStructuralBuildTime);
 }
 
+void tagAsRestoredFromCache(String cacheKey) {
+	tagAsStructurallyChanged();
+	this.structurallyChangedTypes = null; // any type may differ from the previous build
+	this.buildCacheKey = cacheKey;
+}
+
 boolean wasStructurallyChanged(IProject prereqProject, State prereqState) {
 	if (prereqState != null) {
 		Object o = this.structuralBuildTimes.get(prereqProject.getName());
@@ -495,11 +506,13 @@ void write(DataOutputStream out) throws IOException {
  * String		project name
  * int			build number
  * int			last structural build number
+ * String		build cache key
 */
 	out.writeByte(VERSION);
 	out.writeUTF(this.javaProjectName);
 	out.writeInt(this.buildNumber);
 	out.writeLong(this.lastStructuralBuildTime);
+	out.writeUTF(this.buildCacheKey != null ? this.buildCacheKey : ""); //$NON-NLS-1$
 
 /*
  * ClasspathMultiDirectory[]
@@ -27,11 +27,17 @@ package org.eclipse.jdt.internal.core.hierarchy;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IType;
@@ -63,6 +69,7 @@ import org.eclipse.jdt.internal.compiler.util.Messages;
 import org.eclipse.jdt.internal.core.*;
 import org.eclipse.jdt.internal.core.util.ASTNodeFinder;
 import org.eclipse.jdt.internal.core.util.HandleFactory;
+import org.eclipse.jdt.internal.core.util.Util;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class HierarchyResolver implements ITypeRequestor {
@@ -79,6 +86,16 @@ public class HierarchyResolver implements ITypeRequestor {
 	private int typeIndex;
 	private IGenericType[] typeModels;
 
+	/*
+	 * The number of threads parsing the potential subtypes that are read from files, and the minimum number
+	 * of such compilation units to parse them in parallel. They are parsed in chunks of PARSE_CHUNK_SIZE units.
+	 * The type bindings are still built on the calling thread, in the same order.
+	 */
+	public static int PARSER_THREADS = Integer.getInteger("org.eclipse.jdt.core.hierarchyParserThreads", Runtime.getRuntime().availableProcessors()).intValue(); //$NON-NLS-1$
+	public static int PARALLEL_PARSE_THRESHOLD = 64;
+	static final int PARSE_CHUNK_SIZE = 16;
+	int parserThreads = PARSER_THREADS; // 1 when this resolver already runs on a worker thread
+
 	private static final CompilationUnitDeclaration FakeUnit;
 	static {
 		IErrorHandlingPolicy policy = DefaultErrorHandlingPolicies.exitAfterAllProblems();
@@ -673,6 +690,9 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 			}
 		}
 
+		// parse the compilation units that are not open on several threads
+		CompilationUnitDeclaration[] preParsedUnits = parseInParallel(openables, localTypes);
+
 		subMonitor.split(1);
 		// build type bindings
 		Parser parser = new Parser(this.lookupEnvironment.problemReporter, true);
@@ -683,17 +703,13 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 				org.eclipse.jdt.core.ICompilationUnit cu = (org.eclipse.jdt.core.ICompilationUnit)openable;
 
 				// contains a potential subtype as a local or anonymous type?
-				boolean containsLocalType = false;
-				if (localTypes == null) { // case of hierarchy on region
-					containsLocalType = true;
-				} else {
-					IPath path = cu.getPath();
-					containsLocalType = cu.isWorkingCopy() ? true /* presume conservatively */ : localTypes.contains(path.toString());
-				}
+				boolean containsLocalType = containsLocalType(cu, localTypes);
 
 				// build parsed unit
 				CompilationUnitDeclaration parsedUnit = null;
-				if (cu.isOpen()) {
+				if (preParsedUnits != null && preParsedUnits[i] != null) {
+					parsedUnit = preParsedUnits[i];
+				} else if (cu.isOpen()) {
 					// create parsed unit from source element infos
 					CompilationResult result = new CompilationResult((ICompilationUnit)cu, i, openablesLength, this.options.maxProblemsPerUnit);
 					SourceTypeElementInfo[] typeInfos = null;
@@ -864,6 +880,110 @@ public void resolve(Openable[] openables, HashSet localTypes, IProgressMonitor m
 		reset();
 	}
 }
+private static boolean containsLocalType(org.eclipse.jdt.core.ICompilationUnit cu, HashSet localTypes) {
+	if (localTypes == null) // case of hierarchy on region
+		return true;
+	IPath path = cu.getPath();
+	return cu.isWorkingCopy() ? true /* presume conservatively */ : localTypes.contains(path.toString());
+}
+/*
+ * Parses the compilation units of the given openables that are not open, in chunks processed concurrently
+ * by PARSER_THREADS threads with their own parser. The method bodies of the units that contain potential
+ * subtypes as local or anonymous types are parsed too.
+ * Returns the parsed units at the index of their openable, or null if the units are too few to be parsed in
+ * parallel. A unit that could not be parsed is left null, so that it is parsed again on the calling thread.
+ */
+private CompilationUnitDeclaration[] parseInParallel(Openable[] openables, HashSet localTypes) {
+	int openablesLength = openables.length;
+	final int[] indexes = new int[openablesLength];
+	int count = 0;
+	for (int i = 0; i < openablesLength; i++) {
+		if (openables[i] instanceof org.eclipse.jdt.core.ICompilationUnit && !openables[i].isOpen())
+			indexes[count++] = i;
+	}
+	if (this.parserThreads <= 1 || count < PARALLEL_PARSE_THRESHOLD)
+		return null;
+
+	final CompilationUnitDeclaration[] parsedUnits = new CompilationUnitDeclaration[openablesLength];
+	final ICompilationUnit[] sourceUnits = new ICompilationUnit[openablesLength];
+	final boolean[] parseBodies = new boolean[openablesLength];
+	for (int i = 0; i < count; i++) {
+		int index = indexes[i];
+		org.eclipse.jdt.core.ICompilationUnit cu = (org.eclipse.jdt.core.ICompilationUnit) openables[index];
+		sourceUnits[index] = this.builder.createCompilationUnitFromPath(openables[index], (IFile) cu.getResource());
+		parseBodies[index] = containsLocalType(cu, localTypes);
+	}
+
+	final int unitsCount = count;
+	final int chunks = (count + PARSE_CHUNK_SIZE - 1) / PARSE_CHUNK_SIZE;
+	final AtomicInteger nextChunk = new AtomicInteger();
+	final CompilerOptions compilerOptions = this.lookupEnvironment.globalOptions;
+	final int maxProblems = compilerOptions.maxProblemsPerUnit;
+	final IProgressMonitor progressMonitor = this.builder.hierarchy.progressMonitor;
+	final NullProgressMonitor canceler = new NullProgressMonitor(); // checked by the workers
+	int threads = Math.min(this.parserThreads, chunks);
+	final AtomicInteger threadCount = new AtomicInteger();
+	ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+		Thread thread = new Thread(runnable, "Java Type Hierarchy Parser #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+	boolean completed = false;
+	try {
+		Future[] futures = new Future[threads];
+		for (int t = 0; t < threads; t++) {
+			futures[t] = executor.submit(() -> {
+				ProblemReporter problemReporter = new ProblemReporter(DefaultErrorHandlingPolicies.exitAfterAllProblems(), compilerOptions, new DefaultProblemFactory());
+				Parser parser = new Parser(problemReporter, true);
+				for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+					if (canceler.isCanceled() || (progressMonitor != null && progressMonitor.isCanceled()))
+						return null;
+					for (int i = chunk * PARSE_CHUNK_SIZE, end = Math.min(i + PARSE_CHUNK_SIZE, unitsCount); i < end; i++) {
+						int index = indexes[i];
+						try {
+							CompilationResult unitResult = new CompilationResult(sourceUnits[index], index, openablesLength, maxProblems);
+							CompilationUnitDeclaration parsedUnit = parser.dietParse(sourceUnits[index], unitResult);
+							if (parsedUnit != null && parseBodies[index])
+								parser.getMethodBodies(parsedUnit);
+							parsedUnits[index] = parsedUnit;
+						} catch (AbortCompilation e) {
+							// parsed again on the calling thread
+						}
+					}
+				}
+				return null;
+			});
+		}
+		for (int t = 0; t < threads; t++) {
+			try {
+				futures[t].get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new IllegalStateException(cause);
+			}
+		}
+		completed = true;
+	} finally {
+		if (!completed)
+			canceler.setCanceled(true);
+		Util.shutdownAndWait(executor);
+	}
+	if (progressMonitor != null && progressMonitor.isCanceled())
+		throw new OperationCanceledException();
+	for (int i = 0; i < count; i++) {
+		CompilationUnitDeclaration parsedUnit = parsedUnits[indexes[i]];
+		if (parsedUnit != null)
+			parsedUnit.problemReporter = this.lookupEnvironment.problemReporter; // as if parsed on this thread
+	}
+	return parsedUnits;
+}
 private void setEnvironment(LookupEnvironment lookupEnvironment, HierarchyBuilder builder) {
 	this.lookupEnvironment = lookupEnvironment;
 	this.builder = builder;
@@ -14,8 +14,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -24,14 +34,45 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.internal.compiler.env.IGenericType;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.Openable;
 import org.eclipse.jdt.internal.core.SearchableEnvironment;
+import org.eclipse.jdt.internal.core.util.Util;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class RegionBasedHierarchyBuilder extends HierarchyBuilder {
 
+	/*
+	 * The number of threads resolving the types of a region. The openables of the region are partitioned per package
+	 * fragment root, in chunks of at most PARTITION_SIZE openables, and each partition is resolved by its own resolver.
+	 * The types are then connected in the hierarchy on the calling thread, in the order of the partitions.
+	 */
+	public static int RESOLVER_THREADS = Integer.getInteger("org.eclipse.jdt.core.regionHierarchyThreads", Runtime.getRuntime().availableProcessors()).intValue(); //$NON-NLS-1$
+	public static int PARTITION_SIZE = 500;
+
+	/*
+	 * Records the connections reported by the resolver of a partition, so that they are made in the hierarchy
+	 * on the calling thread.
+	 */
+	static class PartitionBuilder extends HierarchyBuilder {
+		ArrayList connections = new ArrayList(); // Object[] {IGenericType, IType, IType, IType[]}
+
+		PartitionBuilder(TypeHierarchy hierarchy) throws JavaModelException {
+			super(hierarchy);
+		}
+		@Override
+		public void build(boolean computeSubtypes) {
+			// resolved by RegionBasedHierarchyBuilder#resolvePartition(...)
+		}
+		@Override
+		public void connect(IGenericType type, IType typeHandle, IType superclassHandle, IType[] superinterfaceHandles) {
+			this.connections.add(new Object[] {type, typeHandle, superclassHandle, superinterfaceHandles});
+		}
+	}
+
 	public RegionBasedHierarchyBuilder(TypeHierarchy hierarchy)
 		throws JavaModelException {
 
@@ -63,7 +104,13 @@ public void build(boolean computeSubtypes) {
  * Configure this type hierarchy that is based on a region.
  */
 private void createTypeHierarchyBasedOnRegion(HashMap allOpenablesInRegion, IProgressMonitor monitor) {
-
+	if (RESOLVER_THREADS > 1) {
+		ArrayList partitions = partition(allOpenablesInRegion);
+		if (partitions.size() > 1) {
+			resolveInParallel(partitions, monitor);
+			return;
+		}
+	}
 	try {
 		int size = allOpenablesInRegion.size();
 		if (monitor != null) monitor.beginTask("", size * 2/* 1 for build binding, 1 for connect hierarchy*/); //$NON-NLS-1$
@@ -90,6 +137,151 @@ private void createTypeHierarchyBasedOnRegion(HashMap allOpenablesInRegion, IPro
 	}
 }
 
+/*
+ * Splits the openables of the region into the partitions that are resolved concurrently: the openables of each
+ * package fragment root of each project, in chunks of at most PARTITION_SIZE openables.
+ * Returns a list of Object[] {JavaProject, Openable[]}.
+ */
+private ArrayList partition(HashMap allOpenablesInRegion) {
+	ArrayList partitions = new ArrayList();
+	Iterator javaProjects = allOpenablesInRegion.entrySet().iterator();
+	while (javaProjects.hasNext()) {
+		Map.Entry entry = (Map.Entry) javaProjects.next();
+		JavaProject project = (JavaProject) entry.getKey();
+		ArrayList allOpenables = (ArrayList) entry.getValue();
+		int size = allOpenables.size();
+		int start = 0;
+		IPackageFragmentRoot startRoot = null;
+		for (int i = 0; i <= size; i++) {
+			IPackageFragmentRoot root = i < size ? ((Openable) allOpenables.get(i)).getPackageFragmentRoot() : null;
+			if (i == start) {
+				startRoot = root;
+			} else if (i == size || i - start == PARTITION_SIZE || !root.equals(startRoot)) {
+				Openable[] openables = new Openable[i - start];
+				allOpenables.subList(start, i).toArray(openables);
+				partitions.add(new Object[] {project, openables});
+				start = i;
+				startRoot = root;
+			}
+		}
+	}
+	return partitions;
+}
+/*
+ * Resolves the given partitions on RESOLVER_THREADS threads, each partition with its own resolver, then connects
+ * their types in this hierarchy on the calling thread, in the order of the partitions.
+ */
+private void resolveInParallel(ArrayList partitions, final IProgressMonitor monitor) {
+	final int count = partitions.size();
+	final Object[][] partitionArray = (Object[][]) partitions.toArray(new Object[count][]);
+	final PartitionBuilder[] builders = new PartitionBuilder[count];
+	final NullProgressMonitor canceler = new NullProgressMonitor(); // checked by the resolvers of the workers
+	final AtomicInteger next = new AtomicInteger();
+	final AtomicInteger done = new AtomicInteger();
+	final JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	if (monitor != null) monitor.beginTask("", count * 2/* 1 for resolving a partition, 1 for connecting it*/); //$NON-NLS-1$
+	try {
+		int threads = Math.min(RESOLVER_THREADS, count);
+		final AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Java Region Hierarchy Resolver #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		boolean completed = false;
+		try {
+			Future[] futures = new Future[threads];
+			for (int i = 0; i < threads; i++) {
+				futures[i] = executor.submit(() -> {
+					Object owner = new Object();
+					manager.cacheZipFiles(owner);
+					try {
+						for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+							if (canceler.isCanceled())
+								return null;
+							builders[index] = resolvePartition((JavaProject) partitionArray[index][0], (Openable[]) partitionArray[index][1], canceler);
+							done.incrementAndGet();
+						}
+						return null;
+					} finally {
+						manager.flushZipFiles(owner);
+					}
+				});
+			}
+			int reported = 0;
+			for (int i = 0; i < threads; i++) {
+				while (true) {
+					try {
+						futures[i].get(100, TimeUnit.MILLISECONDS);
+						break;
+					} catch (TimeoutException e) {
+						if (monitor != null) {
+							if (monitor.isCanceled())
+								canceler.setCanceled(true);
+							int current = done.get();
+							monitor.worked(current - reported);
+							reported = current;
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new OperationCanceledException();
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof RuntimeException)
+							throw (RuntimeException) cause;
+						if (cause instanceof Error)
+							throw (Error) cause;
+						throw new IllegalStateException(cause);
+					}
+				}
+			}
+			if (monitor != null) monitor.worked(count - reported);
+			completed = true;
+		} finally {
+			if (!completed)
+				canceler.setCanceled(true);
+			Util.shutdownAndWait(executor);
+		}
+		if (canceler.isCanceled() || (monitor != null && monitor.isCanceled()))
+			throw new OperationCanceledException();
+
+		// connect the types on this thread, as if they were resolved in sequence
+		for (int i = 0; i < count; i++) {
+			PartitionBuilder builder = builders[i];
+			if (builder == null) continue; // project doesn't exist
+			ArrayList connections = builder.connections;
+			for (int j = 0, size = connections.size(); j < size; j++) {
+				Object[] connection = (Object[]) connections.get(j);
+				connect((IGenericType) connection[0], (IType) connection[1], (IType) connection[2], (IType[]) connection[3]);
+			}
+			this.hierarchy.missingTypes.addAll(builder.hierarchy.missingTypes);
+			worked(monitor, 1);
+		}
+	} finally {
+		if (monitor != null) monitor.done();
+	}
+}
+/*
+ * Resolves the given openables of the given project with a new resolver, on a worker thread.
+ * Returns the builder that recorded their connections, or null if the project doesn't exist.
+ */
+PartitionBuilder resolvePartition(JavaProject project, Openable[] openables, IProgressMonitor canceler) {
+	TypeHierarchy partialHierarchy = new TypeHierarchy(this.hierarchy.focusType, this.hierarchy.workingCopies, (IJavaSearchScope) null, this.hierarchy.computeSubtypes);
+	partialHierarchy.project = this.hierarchy.project;
+	partialHierarchy.progressMonitor = SubMonitor.convert(canceler);
+	try {
+		PartitionBuilder builder = new PartitionBuilder(partialHierarchy);
+		builder.nameLookup = project.newSearchableNameEnvironment(this.hierarchy.workingCopies).nameLookup;
+		builder.infoToHandle = new HashMap(openables.length);
+		builder.hierarchyResolver.parserThreads = 1;
+		builder.hierarchyResolver.resolve(openables, null, null);
+		return builder;
+	} catch (JavaModelException e) {
+		// project doesn't exist: ignore
+		return null;
+	}
+}
+
 	/**
 	 * Returns all of the openables defined in the region of this type hierarchy.
 	 * Returns a map from IJavaProject to ArrayList of Openable
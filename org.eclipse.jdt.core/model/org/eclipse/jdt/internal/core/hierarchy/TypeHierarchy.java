@@ -838,6 +838,30 @@ boolean includesTypeOrSupertype(IType type) {
 	}
 	return false;
 }
+/**
+ * Copies the types, flags and regions of the given computed hierarchy into this hierarchy,
+ * which is then up to date. The tables that clients can modify are not shared.
+ */
+void initializeFrom(TypeHierarchy hierarchy) {
+	this.classToSuperclass = new HashMap<>(hierarchy.classToSuperclass);
+	this.typeToSuperInterfaces = new HashMap<>(hierarchy.typeToSuperInterfaces.size());
+	for (Entry<IType, IType[]> entry : hierarchy.typeToSuperInterfaces.entrySet())
+		this.typeToSuperInterfaces.put(entry.getKey(), entry.getValue().clone());
+	this.typeToSubtypes = new HashMap<>(hierarchy.typeToSubtypes.size());
+	for (Entry<IType, TypeVector> entry : hierarchy.typeToSubtypes.entrySet())
+		this.typeToSubtypes.put(entry.getKey(), entry.getValue().copy());
+	this.typeFlags = new HashMap<>(hierarchy.typeFlags);
+	this.rootClasses = hierarchy.rootClasses.copy();
+	this.interfaces = new ArrayList<>(hierarchy.interfaces);
+	this.missingTypes = new ArrayList<>(hierarchy.missingTypes);
+	this.files = new HashMap<>(hierarchy.files.size());
+	for (Entry<IOpenable, ArrayList<IType>> entry : hierarchy.files.entrySet())
+		this.files.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+	this.packageRegion = hierarchy.packageRegion; // not modified once computed
+	this.projectRegion = hierarchy.projectRegion;
+	this.needsRefresh = false;
+	this.changeCollector = null;
+}
 /**
  * Initializes this hierarchy's internal tables with the given size.
  */
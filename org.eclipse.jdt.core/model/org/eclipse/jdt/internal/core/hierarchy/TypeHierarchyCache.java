@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2018 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.hierarchy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.JavaElement;
+import org.eclipse.jdt.internal.core.search.JavaWorkspaceScope;
+
+/**
+ * Keeps the type hierarchies computed on the primary compilation units and class files of the workspace,
+ * so that a hierarchy that is requested again on the same type is copied instead of being computed.
+ * <p>
+ * Only the hierarchies on a focus type, in the workspace scope or in the scope of a project, and whose
+ * working copies have no unsaved changes are kept. They are keyed by their focus type, their scope and whether
+ * they contain subtypes. A hierarchy is forgotten as soon as a <code>POST_CHANGE</code> or <code>POST_RECONCILE</code>
+ * delta affects it (see {@link TypeHierarchy#isAffected(IJavaElementDelta, int)}), and a hierarchy computed while deltas
+ * were fired is not kept. The <code>MaxEntries</code> most recently used hierarchies are kept in memory.
+ * </p>
+ */
+public class TypeHierarchyCache {
+
+	public static boolean ENABLED = !Boolean.getBoolean("org.eclipse.jdt.core.disableTypeHierarchyCache"); //$NON-NLS-1$
+	public static int MaxEntries = 50;
+
+	private static final Map<String, TypeHierarchy> Hierarchies = new LinkedHashMap<>(16, 0.75f, true); // the least recently used first
+	private static int Generation; // incremented each time a delta is fired
+	private static int HitCount;
+
+	private static final IElementChangedListener Listener = new IElementChangedListener() {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			ArrayList<Map.Entry<String, TypeHierarchy>> entries;
+			synchronized (TypeHierarchyCache.class) {
+				Generation++;
+				if (Hierarchies.isEmpty()) return;
+				entries = new ArrayList<>(Hierarchies.entrySet());
+			}
+			IJavaElementDelta delta = event.getDelta();
+			ArrayList<String> affected = new ArrayList<>();
+			for (Map.Entry<String, TypeHierarchy> entry : entries) {
+				// a reconcile delta is checked like a change so that the changes of the working copies are not batched in a cached hierarchy
+				if (entry.getValue().isAffected(delta, ElementChangedEvent.POST_CHANGE))
+					affected.add(entry.getKey());
+			}
+			if (affected.isEmpty()) return;
+			synchronized (TypeHierarchyCache.class) {
+				for (String key : affected)
+					Hierarchies.remove(key);
+			}
+			if (TypeHierarchy.DEBUG)
+				System.out.println("FORGOT " + affected.size() + " CACHED TYPE HIERARCHIES"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	};
+	private static boolean ListenerAdded;
+
+	/**
+	 * Returns the key of the given hierarchy that is not computed yet,
+	 * or <code>null</code> if it cannot be cached.
+	 */
+	public static String keyFor(TypeHierarchy hierarchy) {
+		if (!ENABLED || hierarchy instanceof RegionBasedTypeHierarchy || hierarchy.focusType == null)
+			return null;
+		if (hierarchy.workingCopies != null) {
+			try {
+				for (ICompilationUnit workingCopy : hierarchy.workingCopies)
+					if (workingCopy.hasUnsavedChanges()) // the hierarchy would not match the files
+						return null;
+			} catch (JavaModelException e) {
+				return null;
+			}
+		}
+		ICompilationUnit unit = hierarchy.focusType.getCompilationUnit();
+		if (unit != null && unit.getOwner() != null) // not a primary unit
+			return null;
+		String scope;
+		if (hierarchy.project != null)
+			scope = hierarchy.project.getElementName();
+		else if (hierarchy.scope instanceof JavaWorkspaceScope)
+			scope = ""; //$NON-NLS-1$
+		else
+			return null;
+		return ((JavaElement) hierarchy.focusType).getHandleIdentifier() + '|' + scope + '|' + hierarchy.computeSubtypes;
+	}
+
+	/**
+	 * Returns the generation of the deltas, to be passed to {@link #put(String, TypeHierarchy, int)}
+	 * once the hierarchy is computed.
+	 */
+	public static synchronized int getGeneration() {
+		if (!ListenerAdded) {
+			JavaCore.addElementChangedListener(Listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			ListenerAdded = true;
+		}
+		return Generation;
+	}
+
+	/**
+	 * Initializes the given hierarchy from the cached hierarchy of the given key.
+	 * Returns whether it was cached.
+	 */
+	public static boolean initialize(String key, TypeHierarchy hierarchy) {
+		TypeHierarchy cached;
+		synchronized (TypeHierarchyCache.class) {
+			cached = Hierarchies.get(key);
+			if (cached == null) return false;
+			HitCount++;
+		}
+		hierarchy.initializeFrom(cached);
+		return true;
+	}
+
+	/**
+	 * Remembers the given hierarchy that was just computed, unless a delta was fired since the given generation.
+	 */
+	public static void put(String key, TypeHierarchy hierarchy, int generation) {
+		if (hierarchy.needsRefresh) return;
+		TypeHierarchy copy = new TypeHierarchy(hierarchy.focusType, null, hierarchy.scope, hierarchy.computeSubtypes);
+		copy.project = hierarchy.project;
+		copy.initializeFrom(hierarchy);
+		synchronized (TypeHierarchyCache.class) {
+			if (generation != Generation) return;
+			Hierarchies.put(key, copy);
+			for (Iterator<String> iterator = Hierarchies.keySet().iterator(); Hierarchies.size() > MaxEntries && iterator.hasNext();) {
+				iterator.next();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Forgets all the cached hierarchies.
+	 */
+	public static synchronized void flush() {
+		Hierarchies.clear();
+	}
+
+	/**
+	 * Returns the number of hierarchies answered from this cache.
+	 */
+	public static synchronized int getHitCount() {
+		return HitCount;
+	}
+}
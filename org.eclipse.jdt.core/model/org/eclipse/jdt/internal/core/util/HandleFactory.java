@@ -64,6 +64,45 @@ public class HandleFactory {
 
 	private HashtableOfObjectToInt localOccurrenceCounts = new HashtableOfObjectToInt(5);
 
+	/**
+	 * The package fragment roots of the workspace, indexed by the segments of their path,
+	 * and the stamp of the Java model they were found in (see JavaModelManager#getModelStamp()).
+	 */
+	private RootNode rootTrie;
+	private long rootTrieStamp;
+
+	/*
+	 * A node of the trie of package fragment roots: the roots whose path ends at this node,
+	 * with their rank in the order the projects and their roots are walked.
+	 */
+	private static class RootNode {
+		HashMap<String, RootNode> children;
+		PackageFragmentRoot[] roots;
+		int[] ranks;
+
+		RootNode child(String segment) {
+			if (this.children == null)
+				this.children = new HashMap<>();
+			RootNode child = this.children.get(segment);
+			if (child == null)
+				this.children.put(segment, child = new RootNode());
+			return child;
+		}
+
+		void add(PackageFragmentRoot root, int rank) {
+			int length = this.roots == null ? 0 : this.roots.length;
+			if (length == 0) {
+				this.roots = new PackageFragmentRoot[1];
+				this.ranks = new int[1];
+			} else {
+				System.arraycopy(this.roots, 0, this.roots = new PackageFragmentRoot[length + 1], 0, length);
+				System.arraycopy(this.ranks, 0, this.ranks = new int[length + 1], 0, length);
+			}
+			this.roots[length] = root;
+			this.ranks[length] = rank;
+		}
+	}
+
 	public HandleFactory() {
 		this.javaModel = JavaModelManager.getJavaModelManager().getJavaModel();
 	}
@@ -84,15 +123,18 @@ public class HandleFactory {
 		if ((separatorIndex= resourcePath.indexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR)) > -1) {
 			// path to a class file inside a jar
 			// Optimization: cache package fragment root handle and package handles
-			int rootPathLength;
+			// the root of a JRT image also depends on the module that follows the image path
+			String jarPath= resourcePath.substring(0, separatorIndex);
+			int rootKeyLength = org.eclipse.jdt.internal.compiler.util.Util.isJrt(jarPath)
+					? resourcePath.lastIndexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR)
+					: separatorIndex;
 			if (this.lastPkgFragmentRootPath == null
-					|| (rootPathLength = this.lastPkgFragmentRootPath.length()) != resourcePath.length()
-					|| !resourcePath.regionMatches(0, this.lastPkgFragmentRootPath, 0, rootPathLength)) {
-				String jarPath= resourcePath.substring(0, separatorIndex);
+					|| this.lastPkgFragmentRootPath.length() != rootKeyLength
+					|| !resourcePath.startsWith(this.lastPkgFragmentRootPath)) {
 				PackageFragmentRoot root= getJarPkgFragmentRoot(resourcePath, separatorIndex, jarPath, scope);
 				if (root == null)
 					return null; // match is outside classpath
-				this.lastPkgFragmentRootPath= jarPath;
+				this.lastPkgFragmentRootPath= resourcePath.substring(0, rootKeyLength);
 				this.lastPkgFragmentRoot= root;
 				this.packageHandles= new HashtableOfArrayToObject(5);
 			}
@@ -374,10 +416,46 @@ public class HandleFactory {
 
 	/**
 	 * Returns the package fragment root that contains the given resource path.
+	 * If several roots contain it, answers the first one found when walking the projects
+	 * of the workspace and their roots.
 	 */
 	private PackageFragmentRoot getPkgFragmentRoot(String pathString) {
 
 		IPath path= new Path(pathString);
+		RootNode node = getRootTrie().children.get(deviceKey(path));
+		PackageFragmentRoot result = null;
+		int resultRank = Integer.MAX_VALUE;
+		for (int i = 0, segmentCount = path.segmentCount(); node != null; i++) {
+			// roots whose path is a prefix of the given path
+			for (int j = 0, length = node.roots == null ? 0 : node.roots.length; j < length; j++) {
+				PackageFragmentRoot root = node.roots[j];
+				if (node.ranks[j] < resultRank && !Util.isExcluded(path, root.fullInclusionPatternChars(), root.fullExclusionPatternChars(), false)) {
+					result = root;
+					resultRank = node.ranks[j];
+				}
+			}
+			if (i == segmentCount || node.children == null) break;
+			node = node.children.get(path.segment(i));
+		}
+		return result;
+	}
+
+	private static String deviceKey(IPath path) {
+		String device = path.getDevice();
+		return device == null ? "" : device.toLowerCase(); //$NON-NLS-1$ (devices are compared ignoring case, see IPath#isPrefixOf(IPath))
+	}
+
+	/*
+	 * Returns the trie of the package fragment roots of the Java projects of the workspace,
+	 * building it again if the Java model changed since it was built.
+	 */
+	private RootNode getRootTrie() {
+		long stamp = JavaModelManager.getJavaModelManager().getModelStamp();
+		if (this.rootTrie != null && this.rootTrieStamp == stamp)
+			return this.rootTrie;
+		RootNode trie = new RootNode();
+		trie.children = new HashMap<>();
+		int rank = 0;
 		IProject[] projects= ResourcesPlugin.getWorkspace().getRoot().getProjects();
 		for (int i= 0, max= projects.length; i < max; i++) {
 			try {
@@ -388,16 +466,20 @@ public class HandleFactory {
 				IPackageFragmentRoot[] roots= javaProject.getPackageFragmentRoots();
 				for (int j= 0, rootCount= roots.length; j < rootCount; j++) {
 					PackageFragmentRoot root= (PackageFragmentRoot)roots[j];
-					if (root.internalPath().isPrefixOf(path) && !Util.isExcluded(path, root.fullInclusionPatternChars(), root.fullExclusionPatternChars(), false)) {
-						return root;
-					}
+					IPath rootPath = root.internalPath();
+					RootNode node = trie.child(deviceKey(rootPath));
+					for (int k = 0, segmentCount = rootPath.segmentCount(); k < segmentCount; k++)
+						node = node.child(rootPath.segment(k));
+					node.add(root, rank++);
 				}
 			} catch (CoreException e) {
 				// CoreException from hasNature - should not happen since we check that the project is accessible
 				// JavaModelException from getPackageFragmentRoots - a problem occured while accessing project: nothing we can do, ignore
 			}
 		}
-		return null;
+		this.rootTrie = trie;
+		this.rootTrieStamp = stamp;
+		return trie;
 	}
 
 }
@@ -28,6 +28,10 @@ import org.eclipse.jdt.internal.core.util.ToStringSorter.Pair;
  * <p>Objects can take up a variable amount of cache space by implementing
  * the <code>ILRUCacheable</code> interface.
  *
+ * <p>In addition to its space limit, the cache can be given a weight limit. Subclasses
+ * estimate the weight of their values (typically in bytes) in <code>weightFor(Object)</code>,
+ * and the least recently used values are discarded while the total weight exceeds the limit.
+ *
  * <p>This implementation is NOT thread-safe.  Synchronization wrappers would
  * have to be added to ensure atomic insertions and deletions from the cache.
  *
@@ -65,6 +69,11 @@ public class LRUCache<K, V> implements Cloneable {
 		 */
 		public int space;
 
+		/**
+		 * Estimated weight of this entry, see LRUCache#weightFor(Object)
+		 */
+		public int weight;
+
 		/**
 		 * Previous entry in queue
 		 */
@@ -259,6 +268,22 @@ public class LRUCache<K, V> implements Cloneable {
 	 */
 	protected int spaceLimit;
 
+	/**
+	 * Total weight of the entries in cache
+	 */
+	protected long currentWeight;
+
+	/**
+	 * Maximum weight allowed in cache, 0 if the weight is not limited
+	 */
+	protected long weightLimit;
+
+	/**
+	 * Number of lookups that found (resp. did not find) a value, and number of entries
+	 * removed from the cache to make room for other entries
+	 */
+	protected long hitCount, missCount, evictionCount;
+
 	/**
 	 * Counter for handing out sequential timestamps
 	 */
@@ -311,6 +336,7 @@ public class LRUCache<K, V> implements Cloneable {
 	@Override
 	public LRUCache<K, V> clone() {
 		LRUCache<K, V> newCache = newInstance(this.spaceLimit);
+		newCache.weightLimit = this.weightLimit;
 		LRUCacheEntry<K, V> qEntry;
 
 		/* Preserve order of entries by copying from oldest to newest */
@@ -331,6 +357,7 @@ public class LRUCache<K, V> implements Cloneable {
 	 */
 	public void flush() {
 		this.currentSpace = 0;
+		this.currentWeight = 0;
 		LRUCacheEntry<K, V> entry = this.entryQueueTail; // Remember last entry
 		this.entryTable = new Hashtable<>();  // Clear it out
 		this.entryQueue = this.entryQueueTail = null;
@@ -377,9 +404,11 @@ public class LRUCache<K, V> implements Cloneable {
 	public V get(K key) {
 		LRUCacheEntry<K, V> entry = this.entryTable.get(key);
 		if (entry == null) {
+			this.missCount++;
 			return null;
 		}
 
+		this.hitCount++;
 		updateTimestamp (entry);
 		return entry.value;
 	}
@@ -391,6 +420,34 @@ public class LRUCache<K, V> implements Cloneable {
 		return this.currentSpace;
 	}
 
+	/**
+	 * Returns the estimated weight of the entries in the cache.
+	 */
+	public long getCurrentWeight() {
+		return this.currentWeight;
+	}
+
+	/**
+	 * Returns the number of entries that were removed from the cache to make room for other entries.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount;
+	}
+
+	/**
+	 * Returns the number of calls to <code>get(Object)</code> that found a value.
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of calls to <code>get(Object)</code> that did not find a value.
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
 	/**
 	 * Returns the timestamps of the most recently used element in the cache.
 	 */
@@ -419,6 +476,13 @@ public class LRUCache<K, V> implements Cloneable {
 		return this.spaceLimit;
 	}
 
+	/**
+	 * Returns the maximum weight allowed in the cache, or 0 if the weight is not limited.
+	 */
+	public long getWeightLimit() {
+		return this.weightLimit;
+	}
+
 	/**
 	 * Returns an Enumeration of the keys currently in the cache.
 	 */
@@ -483,10 +547,23 @@ public class LRUCache<K, V> implements Cloneable {
 		/* Free up space by removing oldest entries */
 		while (this.currentSpace + space > limit && this.entryQueueTail != null) {
 			privateRemoveEntry (this.entryQueueTail, false);
+			this.evictionCount++;
 		}
 		return true;
 	}
 
+	/**
+	 * Removes the least recently used entries while the total weight exceeds the weight limit.
+	 * The most recently used entry is never removed.
+	 */
+	protected void makeWeight() {
+		if (this.weightLimit <= 0) return;
+		while (this.currentWeight > this.weightLimit && this.entryQueueTail != this.entryQueue) {
+			privateRemoveEntry (this.entryQueueTail, false);
+			this.evictionCount++;
+		}
+	}
+
 	/**
 	 * Returns a new LRUCache instance
 	 */
@@ -514,6 +591,7 @@ public class LRUCache<K, V> implements Cloneable {
 	protected void privateAdd (K key, V value, int space) {
 		LRUCacheEntry<K, V> entry;
 		entry = new LRUCacheEntry<>(key, value, space);
+		entry.weight = weightFor(value);
 		privateAddEntry (entry, false);
 	}
 
@@ -526,6 +604,7 @@ public class LRUCache<K, V> implements Cloneable {
 		if (!shuffle) {
 			this.entryTable.put (entry.key, entry);
 			this.currentSpace += entry.space;
+			this.currentWeight += entry.weight;
 		}
 
 		entry.timestamp = this.timestampCounter++;
@@ -556,6 +635,7 @@ public class LRUCache<K, V> implements Cloneable {
 		if (!shuffle) {
 			this.entryTable.remove(entry.key);
 			this.currentSpace -= entry.space;
+			this.currentWeight -= entry.weight;
 		}
 
 		/* if this was the first entry */
@@ -602,6 +682,10 @@ public class LRUCache<K, V> implements Cloneable {
 				entry.value = value;
 				entry.space = newSpace;
 				this.currentSpace = newTotal;
+				int newWeight = weightFor(value);
+				this.currentWeight += newWeight - entry.weight;
+				entry.weight = newWeight;
+				makeWeight();
 				return value;
 			} else {
 				privateRemoveEntry (entry, false);
@@ -609,6 +693,7 @@ public class LRUCache<K, V> implements Cloneable {
 		}
 		if (makeSpace(newSpace)) {
 			privateAdd (key, value, newSpace);
+			makeWeight();
 		}
 		return value;
 	}
@@ -630,6 +715,13 @@ public class LRUCache<K, V> implements Cloneable {
 		return value;
 	}
 
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public void resetStatistics() {
+		this.hitCount = this.missCount = this.evictionCount = 0;
+	}
+
 	/**
 	 * Sets the maximum amount of space that the cache can store
 	 *
@@ -642,6 +734,16 @@ public class LRUCache<K, V> implements Cloneable {
 		this.spaceLimit = limit;
 	}
 
+	/**
+	 * Sets the maximum weight that the cache can store, 0 to not limit the weight.
+	 *
+	 * @param limit estimated weight, see <code>weightFor(Object)</code>
+	 */
+	public void setWeightLimit(long limit) {
+		this.weightLimit = limit;
+		makeWeight();
+	}
+
 	/**
 	 * Returns the space taken by the given value.
 	 */
@@ -683,6 +785,31 @@ public class LRUCache<K, V> implements Cloneable {
 		return result.toString();
 	}
 
+	/**
+	 * Returns a String with the hit, miss and eviction counters of this cache.
+	 */
+	public String toStringStatistics(String cacheName) {
+		StringBuffer buffer = new StringBuffer(cacheName);
+		buffer.append(": "); //$NON-NLS-1$
+		buffer.append(this.entryTable.size());
+		buffer.append(" entries"); //$NON-NLS-1$
+		if (this.weightLimit > 0) {
+			buffer.append(", "); //$NON-NLS-1$
+			buffer.append(this.currentWeight / 1024);
+			buffer.append("KB of "); //$NON-NLS-1$
+			buffer.append(this.weightLimit / 1024);
+			buffer.append("KB"); //$NON-NLS-1$
+		}
+		buffer.append(", "); //$NON-NLS-1$
+		buffer.append(this.hitCount);
+		buffer.append(" hits, "); //$NON-NLS-1$
+		buffer.append(this.missCount);
+		buffer.append(" misses, "); //$NON-NLS-1$
+		buffer.append(this.evictionCount);
+		buffer.append(" evictions"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
 	public String toStringFillingRation(String cacheName) {
 		StringBuffer buffer = new StringBuffer(cacheName);
 		buffer.append('[');
@@ -693,6 +820,14 @@ public class LRUCache<K, V> implements Cloneable {
 		return buffer.toString();
 	}
 
+	/**
+	 * Returns the estimated weight of the given value. Answers 0 by default,
+	 * subclasses that support a weight limit override this method.
+	 */
+	protected int weightFor(V value) {
+		return 0;
+	}
+
 	/**
 	 * Updates the timestamp for the given entry, ensuring that the queue is
 	 * kept in correct order.  The entry must exist
@@ -34,13 +34,17 @@ public class MementoTokenizer {
 	public static final String LAMBDA_METHOD = Character.toString(JavaElement.JEM_LAMBDA_METHOD);
 	public static final String STRING = Character.toString(JavaElement.JEM_STRING);
 
-	private final char[] memento;
+	/*
+	 * The memento is read in place: delimiters are answered as the constants above,
+	 * and names as substrings of the memento unless they contain escaped characters.
+	 */
+	private final String memento;
 	private final int length;
 	private int index = 0;
 
 	public MementoTokenizer(String memento) {
-		this.memento = memento.toCharArray();
-		this.length = this.memento.length;
+		this.memento = memento;
+		this.length = memento.length();
 	}
 
 	public boolean hasMoreTokens() {
@@ -49,11 +53,11 @@ public class MementoTokenizer {
 
 	public String nextToken() {
 		int start = this.index;
-		StringBuffer buffer = null;
-		switch (this.memento[this.index++]) {
+		StringBuilder buffer = null;
+		switch (this.memento.charAt(this.index++)) {
 			case JavaElement.JEM_ESCAPE:
-				buffer = new StringBuffer();
-				buffer.append(this.memento[this.index]);
+				buffer = new StringBuilder();
+				buffer.append(this.memento.charAt(this.index));
 				start = ++this.index;
 				break;
 			case JavaElement.JEM_COUNT:
@@ -64,7 +68,7 @@ public class MementoTokenizer {
 				// and if that's true, we return that as the token. 
 				// Else, we decide that JEM_JAVAPROJECT is the current token.
 				if (this.index < this.length) {
-					char nextChar = this.memento[this.index++];
+					char nextChar = this.memento.charAt(this.index++);
 					switch(nextChar) {
 						case JavaElement.JEM_LAMBDA_EXPRESSION:
 							return LAMBDA_EXPRESSION;
@@ -110,12 +114,12 @@ public class MementoTokenizer {
 				return ANNOTATION;
 		}
 		loop: while (this.index < this.length) {
-			switch (this.memento[this.index]) {
+			switch (this.memento.charAt(this.index)) {
 				case JavaElement.JEM_ESCAPE:
-					if (buffer == null) buffer = new StringBuffer();
-					buffer.append(this.memento, start, this.index - start);
+					if (buffer == null) buffer = new StringBuilder();
+					buffer.append(this.memento, start, this.index);
 					start = ++this.index;
-					if (this.memento[this.index] == JavaElement.JEM_MODULE)
+					if (this.index < this.length && this.memento.charAt(this.index) == JavaElement.JEM_MODULE)
 						return buffer.toString();
 					break;
 				case JavaElement.JEM_COUNT:
@@ -139,10 +143,10 @@ public class MementoTokenizer {
 			this.index++;
 		}
 		if (buffer != null) {
-			buffer.append(this.memento, start, this.index - start);
+			buffer.append(this.memento, start, this.index);
 			return buffer.toString();
 		} else {
-			return new String(this.memento, start, this.index - start);
+			return this.memento.substring(start, this.index);
 		}
 	}
 
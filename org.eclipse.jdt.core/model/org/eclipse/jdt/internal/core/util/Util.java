@@ -15,6 +15,8 @@ package org.eclipse.jdt.internal.core.util;
 import java.io.*;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -2276,6 +2278,25 @@ public class Util {
 			}
 		}
 	}
+	/**
+	 * Shuts the given executor down and waits until its running tasks are complete.
+	 * The tasks are not interrupted since an interrupted thread closes the channels of the shared archives
+	 * it reads: they are expected to check a cancel flag instead.
+	 */
+	public static void shutdownAndWait(ExecutorService executor) {
+		executor.shutdown();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(100, TimeUnit.MILLISECONDS))
+					break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
 	public static void sort(char[][] list) {
 		if (list.length > 1)
 			quickSort(list, 0, list.length - 1);
@@ -82,6 +82,13 @@ public class JavaSearchDocument extends SearchDocument {
 		}
 		return null;
 	}
+	/**
+	 * Returns whether the contents of this document are read from its file when needed,
+	 * rather than given when it was created.
+	 */
+	public boolean readsContentsWhenNeeded() {
+		return this.byteContents == null && this.charContents == null;
+	}
 	private IFile getFile() {
 		if (this.file == null)
 			this.file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(getPath()));
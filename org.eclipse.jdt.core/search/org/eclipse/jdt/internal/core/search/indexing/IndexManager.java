@@ -56,6 +56,8 @@ import org.eclipse.jdt.internal.core.index.IndexLocation;
 import org.eclipse.jdt.internal.core.nd.indexer.Indexer;
 import org.eclipse.jdt.internal.core.nd.java.JavaIndex;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
+import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+import org.eclipse.jdt.internal.core.search.JavaSearchParticipant;
 import org.eclipse.jdt.internal.core.search.PatternSearchJob;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
@@ -70,6 +72,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	public SimpleLookupTable indexLocations = new SimpleLookupTable();
 	// key = indexLocation path, value = an index
 	private SimpleLookupTable indexes = new SimpleLookupTable();
+	// key = document path, value = the request to index this document that did not start yet
+	// (consecutive changes of a document read from the workspace are indexed once)
+	private SimpleLookupTable awaitingDocumentRequests = new SimpleLookupTable();
 
 	/**
 	 * The new indexer
@@ -785,6 +790,10 @@ public synchronized Index recreateIndex(IPath containerPath) {
  */
 public void remove(String containerRelativePath, IPath indexedContainer){
 	this.indexer.makeWorkspacePathDirty(indexedContainer);
+	synchronized (this) {
+		// the document must be indexed again if it is added back after its removal
+		this.awaitingDocumentRequests.removeKey(indexedContainer.append(containerRelativePath).toString());
+	}
 	request(new RemoveFromIndex(containerRelativePath, indexedContainer, this));
 }
 /**
@@ -900,6 +909,9 @@ public void removeSourceFolderFromIndex(JavaProject javaProject, IPath sourceFol
 		if (isJobWaiting(request)) return;
 	}
 
+	synchronized (this) {
+		this.awaitingDocumentRequests = new SimpleLookupTable();
+	}
 	request(new RemoveFolderFromIndex(sourceFolder, inclusionPatterns, exclusionPatterns, project, this));
 }
 /**
@@ -914,6 +926,7 @@ public void reset() {
 			this.indexStates = null;
 		}
 		this.indexLocations = new SimpleLookupTable();
+		this.awaitingDocumentRequests = new SimpleLookupTable();
 		this.javaPluginLocation = null;
 	}
 }
@@ -1037,9 +1050,20 @@ public void saveIndexes() {
 public void scheduleDocumentIndexing(final SearchDocument searchDocument, IPath container, final IndexLocation indexLocation, final SearchParticipant searchParticipant) {
 	IPath targetLocation = JavaIndex.getLocationForPath(new Path(searchDocument.getPath()));
 	this.indexer.makeDirty(targetLocation);
-	request(new IndexRequest(container, this) {
+	final String documentPath = searchDocument.getPath();
+	final boolean canCoalesce = searchDocument instanceof JavaSearchDocument
+		&& ((JavaSearchDocument) searchDocument).readsContentsWhenNeeded()
+		&& searchParticipant instanceof JavaSearchParticipant;
+	IndexRequest request = new IndexRequest(container, this) {
 		@Override
 		public boolean execute(IProgressMonitor progressMonitor) {
+			if (canCoalesce) {
+				synchronized (IndexManager.this) {
+					// from now on, a change of the document needs another request
+					if (IndexManager.this.awaitingDocumentRequests.get(documentPath) == this)
+						IndexManager.this.awaitingDocumentRequests.removeKey(documentPath);
+				}
+			}
 			if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) return true;
 
 			/* ensure no concurrent write access to index */
@@ -1067,7 +1091,22 @@ public void scheduleDocumentIndexing(final SearchDocument searchDocument, IPath
 		public boolean waitNeeded() {
 			return false;
 		}
-	});
+	};
+	if (canCoalesce) {
+		synchronized (this) {
+			IndexRequest awaitingRequest = (IndexRequest) this.awaitingDocumentRequests.get(documentPath);
+			if (awaitingRequest != null && !awaitingRequest.isCancelled && awaitingRequest.containerPath.equals(container)) {
+				// the awaiting request will read the latest contents of the document
+				if (VERBOSE)
+					Util.verbose("-> already waiting to index " + documentPath); //$NON-NLS-1$
+				return;
+			}
+			this.awaitingDocumentRequests.put(documentPath, request);
+			request(request);
+		}
+	} else {
+		request(request);
+	}
 }
 
 @Override